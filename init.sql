@@ -65,7 +65,7 @@ CREATE TABLE public.flashcard (
                                   answer integer,
                                   question integer,
                                   users character varying(255),
-                                  is_used boolean,
+                                  usage_count integer DEFAULT 0 NOT NULL,
                                   creation_date timestamp without time zone
 );
 
@@ -309,109 +309,109 @@ COPY public.answer (id, name, lang_code) FROM stdin;
 -- Data for Name: flashcard; Type: TABLE DATA; Schema: public; Owner: postgres
 --
 
-COPY public.flashcard (id, answer, question, users, is_used, creation_date) FROM stdin;
-16	14	14	admin	f	2022-01-14 20:45:59.400
-17	15	15	admin	f	2022-01-14 20:45:59.401
-18	16	16	admin	f	2022-01-14 20:45:59.402
-19	17	17	admin	f	2022-01-14 20:45:59.403
-20	18	18	admin	f	2022-01-14 20:45:59.404
-21	19	19	admin	f	2022-01-14 20:45:59.405
-22	20	20	admin	f	2022-01-14 20:45:59.406
-23	21	21	admin	f	2022-01-14 20:45:59.407
-24	22	22	admin	f	2022-01-14 20:45:59.408
-25	23	23	admin	f	2022-01-14 20:45:59.409
-26	24	24	admin	f	2022-01-14 20:45:59.410
-27	25	25	admin	f	2022-01-14 20:45:59.411
-28	26	26	admin	f	2022-01-14 20:45:59.412
-29	27	27	admin	f	2022-01-14 20:45:59.413
-30	28	28	admin	f	2022-01-14 20:45:59.414
-31	29	29	admin	f	2022-01-14 20:45:59.415
-32	30	30	admin	f	2022-01-14 20:45:59.416
-33	31	31	admin	f	2022-01-14 20:45:59.417
-34	32	32	admin	f	2022-01-14 20:45:59.418
-35	33	33	admin	f	2022-01-14 20:45:59.419
-36	34	34	admin	f	2022-01-14 20:45:59.420
-37	35	35	admin	f	2022-01-14 20:45:59.421
-38	36	36	admin	f	2022-01-14 20:45:59.422
-39	37	37	admin	f	2022-01-14 20:45:59.423
-40	38	38	admin	f	2022-01-14 20:45:59.424
-41	39	39	admin	f	2022-01-14 20:45:59.425
-42	40	40	admin	f	2022-01-14 20:45:59.426
-43	41	41	admin	f	2022-01-14 20:45:59.427
-44	42	42	admin	f	2022-01-14 20:45:59.428
-45	43	43	admin	f	2022-01-14 20:45:59.429
-46	44	44	admin	f	2022-01-14 20:45:59.430
-100	100	100	testuser	f	2022-01-14 20:45:59.431
-112	112	112	user	f	2022-01-14 20:45:59.432
-113	113	113	user	f	2022-01-14 20:45:59.433
-114	114	114	user	f	2022-01-14 20:45:59.434
-115	115	115	user	f	2022-01-14 20:45:59.435
-127	127	127	testuser	f	2022-01-14 20:45:59.437
-128	128	128	testuser	f	2022-01-14 20:45:59.438
-129	129	129	testuser	f	2022-01-14 20:45:59.439
-130	130	130	user	f	2022-01-14 20:45:59.440
-131	131	131	user	f	2022-01-14 20:45:59.441
-132	132	132	user	f	2022-01-14 20:45:59.442
-133	133	133	user	f	2022-01-14 20:45:59.443
-134	134	134	user	f	2022-01-14 20:45:59.444
-135	135	135	user	f	2022-01-14 20:45:59.445
-136	136	136	user	f	2022-01-14 20:45:59.446
-137	137	137	user	f	2022-01-14 20:45:59.447
-138	138	138	user	f	2022-01-14 20:45:59.448
-139	139	139	user	f	2022-01-14 20:45:59.449
-140	140	140	user	f	2022-01-14 20:45:59.450
-141	141	141	user	f	2022-01-14 20:45:59.451
-142	142	142	user	f	2022-01-14 20:45:59.452
-143	143	143	user	f	2022-01-14 20:45:59.453
-144	144	144	user	f	2022-01-14 20:45:59.454
-145	145	145	testuser	f	2022-01-14 20:45:59.455
-146	146	146	testuser	f	2022-01-14 20:45:59.456
-147	147	147	testuser	f	2022-01-14 20:45:59.457
-148	148	148	testuser	f	2022-01-14 20:45:59.458
-149	149	149	testuser	f	2022-01-14 20:45:59.459
-150	150	150	testuser	f	2022-01-14 20:45:59.460
-151	151	151	testuser	f	2022-01-14 20:45:59.461
-152	152	152	testuser	f	2022-01-14 20:45:59.462
-153	153	153	testuser	f	2022-01-14 20:45:59.463
-154	154	154	testuser	f	2022-01-14 20:45:59.464
-155	155	155	testuser	f	2022-01-14 20:45:59.465
-156	156	156	testuser	f	2022-01-14 20:45:59.466
-157	157	157	testuser	f	2022-01-14 20:45:59.467
-158	158	158	testuser	f	2022-01-14 20:45:59.468
-159	159	159	testuser	f	2022-01-14 20:45:59.469
-5	3	3	admin	t	2022-01-14 20:45:59.470
-6	4	4	admin	t	2022-01-14 20:45:59.471
-7	5	5	admin	t	2022-01-14 20:45:59.472
-8	6	6	admin	t	2022-01-14 20:45:59.473
-9	7	7	admin	t	2022-01-14 20:45:59.474
-10	8	8	admin	t	2022-01-14 20:45:59.475
-11	9	9	admin	t	2022-01-14 20:45:59.476
-12	10	10	admin	t	2022-01-14 20:45:59.477
-13	11	11	admin	t	2022-01-14 20:45:59.478
-14	12	12	admin	t	2022-01-14 20:45:59.479
-15	13	13	admin	t	2022-01-14 20:45:59.480
-101	101	101	user	t	2022-01-14 20:45:59.481
-102	102	102	user	t	2022-01-14 20:45:59.482
-103	103	103	user	t	2022-01-14 20:45:59.483
-104	104	104	user	t	2022-01-14 20:45:59.484
-105	105	105	user	t	2022-01-14 20:45:59.485
-106	106	106	user	t	2022-01-14 20:45:59.468
-107	107	107	user	t	2022-01-14 20:45:59.487
-108	108	108	user	t	2022-01-14 20:45:59.488
-109	109	109	user	t	2022-01-14 20:45:59.489
-110	110	110	user	t	2022-01-14 20:45:59.490
-111	111	111	user	t	2022-01-14 20:45:59.491
-116	116	116	testuser	t	2022-01-14 20:45:59.492
-117	117	117	testuser	t	2022-01-14 20:45:59.493
-118	118	118	testuser	t	2022-01-14 20:45:59.494
-119	119	119	testuser	t	2022-01-14 20:45:59.495
-120	120	120	testuser	t	2022-01-14 20:45:59.495
-121	121	121	testuser	t	2022-01-14 20:45:59.497
-122	122	122	testuser	t	2022-01-14 20:45:59.498
-123	123	123	testuser	t	2022-01-14 20:45:59.499
-124	124	124	testuser	t	2022-01-14 20:45:59.500
-125	125	125	testuser	t	2022-01-14 20:45:59.501
-126	126	126	testuser	t	2022-01-14 20:45:59.502
+COPY public.flashcard (id, answer, question, users, usage_count, creation_date) FROM stdin;
+16	14	14	admin	0	2022-01-14 20:45:59.400
+17	15	15	admin	0	2022-01-14 20:45:59.401
+18	16	16	admin	0	2022-01-14 20:45:59.402
+19	17	17	admin	0	2022-01-14 20:45:59.403
+20	18	18	admin	0	2022-01-14 20:45:59.404
+21	19	19	admin	0	2022-01-14 20:45:59.405
+22	20	20	admin	0	2022-01-14 20:45:59.406
+23	21	21	admin	0	2022-01-14 20:45:59.407
+24	22	22	admin	0	2022-01-14 20:45:59.408
+25	23	23	admin	0	2022-01-14 20:45:59.409
+26	24	24	admin	0	2022-01-14 20:45:59.410
+27	25	25	admin	0	2022-01-14 20:45:59.411
+28	26	26	admin	0	2022-01-14 20:45:59.412
+29	27	27	admin	0	2022-01-14 20:45:59.413
+30	28	28	admin	0	2022-01-14 20:45:59.414
+31	29	29	admin	0	2022-01-14 20:45:59.415
+32	30	30	admin	0	2022-01-14 20:45:59.416
+33	31	31	admin	0	2022-01-14 20:45:59.417
+34	32	32	admin	0	2022-01-14 20:45:59.418
+35	33	33	admin	0	2022-01-14 20:45:59.419
+36	34	34	admin	0	2022-01-14 20:45:59.420
+37	35	35	admin	0	2022-01-14 20:45:59.421
+38	36	36	admin	0	2022-01-14 20:45:59.422
+39	37	37	admin	0	2022-01-14 20:45:59.423
+40	38	38	admin	0	2022-01-14 20:45:59.424
+41	39	39	admin	0	2022-01-14 20:45:59.425
+42	40	40	admin	0	2022-01-14 20:45:59.426
+43	41	41	admin	0	2022-01-14 20:45:59.427
+44	42	42	admin	0	2022-01-14 20:45:59.428
+45	43	43	admin	0	2022-01-14 20:45:59.429
+46	44	44	admin	0	2022-01-14 20:45:59.430
+100	100	100	testuser	0	2022-01-14 20:45:59.431
+112	112	112	user	0	2022-01-14 20:45:59.432
+113	113	113	user	0	2022-01-14 20:45:59.433
+114	114	114	user	0	2022-01-14 20:45:59.434
+115	115	115	user	0	2022-01-14 20:45:59.435
+127	127	127	testuser	0	2022-01-14 20:45:59.437
+128	128	128	testuser	0	2022-01-14 20:45:59.438
+129	129	129	testuser	0	2022-01-14 20:45:59.439
+130	130	130	user	0	2022-01-14 20:45:59.440
+131	131	131	user	0	2022-01-14 20:45:59.441
+132	132	132	user	0	2022-01-14 20:45:59.442
+133	133	133	user	0	2022-01-14 20:45:59.443
+134	134	134	user	0	2022-01-14 20:45:59.444
+135	135	135	user	0	2022-01-14 20:45:59.445
+136	136	136	user	0	2022-01-14 20:45:59.446
+137	137	137	user	0	2022-01-14 20:45:59.447
+138	138	138	user	0	2022-01-14 20:45:59.448
+139	139	139	user	0	2022-01-14 20:45:59.449
+140	140	140	user	0	2022-01-14 20:45:59.450
+141	141	141	user	0	2022-01-14 20:45:59.451
+142	142	142	user	0	2022-01-14 20:45:59.452
+143	143	143	user	0	2022-01-14 20:45:59.453
+144	144	144	user	0	2022-01-14 20:45:59.454
+145	145	145	testuser	0	2022-01-14 20:45:59.455
+146	146	146	testuser	0	2022-01-14 20:45:59.456
+147	147	147	testuser	0	2022-01-14 20:45:59.457
+148	148	148	testuser	0	2022-01-14 20:45:59.458
+149	149	149	testuser	0	2022-01-14 20:45:59.459
+150	150	150	testuser	0	2022-01-14 20:45:59.460
+151	151	151	testuser	0	2022-01-14 20:45:59.461
+152	152	152	testuser	0	2022-01-14 20:45:59.462
+153	153	153	testuser	0	2022-01-14 20:45:59.463
+154	154	154	testuser	0	2022-01-14 20:45:59.464
+155	155	155	testuser	0	2022-01-14 20:45:59.465
+156	156	156	testuser	0	2022-01-14 20:45:59.466
+157	157	157	testuser	0	2022-01-14 20:45:59.467
+158	158	158	testuser	0	2022-01-14 20:45:59.468
+159	159	159	testuser	0	2022-01-14 20:45:59.469
+5	3	3	admin	1	2022-01-14 20:45:59.470
+6	4	4	admin	1	2022-01-14 20:45:59.471
+7	5	5	admin	1	2022-01-14 20:45:59.472
+8	6	6	admin	1	2022-01-14 20:45:59.473
+9	7	7	admin	1	2022-01-14 20:45:59.474
+10	8	8	admin	1	2022-01-14 20:45:59.475
+11	9	9	admin	1	2022-01-14 20:45:59.476
+12	10	10	admin	1	2022-01-14 20:45:59.477
+13	11	11	admin	1	2022-01-14 20:45:59.478
+14	12	12	admin	1	2022-01-14 20:45:59.479
+15	13	13	admin	1	2022-01-14 20:45:59.480
+101	101	101	user	1	2022-01-14 20:45:59.481
+102	102	102	user	1	2022-01-14 20:45:59.482
+103	103	103	user	1	2022-01-14 20:45:59.483
+104	104	104	user	1	2022-01-14 20:45:59.484
+105	105	105	user	1	2022-01-14 20:45:59.485
+106	106	106	user	1	2022-01-14 20:45:59.468
+107	107	107	user	1	2022-01-14 20:45:59.487
+108	108	108	user	1	2022-01-14 20:45:59.488
+109	109	109	user	1	2022-01-14 20:45:59.489
+110	110	110	user	1	2022-01-14 20:45:59.490
+111	111	111	user	1	2022-01-14 20:45:59.491
+116	116	116	testuser	1	2022-01-14 20:45:59.492
+117	117	117	testuser	1	2022-01-14 20:45:59.493
+118	118	118	testuser	1	2022-01-14 20:45:59.494
+119	119	119	testuser	1	2022-01-14 20:45:59.495
+120	120	120	testuser	1	2022-01-14 20:45:59.495
+121	121	121	testuser	1	2022-01-14 20:45:59.497
+122	122	122	testuser	1	2022-01-14 20:45:59.498
+123	123	123	testuser	1	2022-01-14 20:45:59.499
+124	124	124	testuser	1	2022-01-14 20:45:59.500
+125	125	125	testuser	1	2022-01-14 20:45:59.501
+126	126	126	testuser	1	2022-01-14 20:45:59.502
 \.
 
 
@@ -0,0 +1,65 @@
+package com.example.flashcards.configuration;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issuing at login and verification on every authenticated request, for a batch of distinct users.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtTokenUtilBenchmark {
+
+    @Param({"1", "100"})
+    private int batchSize;
+
+    private JwtTokenUtil jwtTokenUtil;
+    private List<UserDetails> users;
+    private List<String> tokens;
+
+    @Setup
+    public void setUp() {
+        jwtTokenUtil = new JwtTokenUtil(10_000);
+        jwtTokenUtil.jwtTokenValidity = 36000;
+        ReflectionTestUtils.setField(jwtTokenUtil, "secret", "secretForEncodingSignature");
+
+        users = new ArrayList<>(batchSize);
+        tokens = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            final UserDetails user = new User("user" + i, "password", List.of());
+            users.add(user);
+            tokens.add(jwtTokenUtil.generateToken(user));
+        }
+    }
+
+    @Benchmark
+    public void generateToken(final Blackhole blackhole) {
+        for (final UserDetails user : users) {
+            blackhole.consume(jwtTokenUtil.generateToken(user));
+        }
+    }
+
+    // Signature check on every call, as for a token seen for the first time.
+    @Benchmark
+    public void parseToken(final Blackhole blackhole) {
+        for (final String token : tokens) {
+            blackhole.consume(jwtTokenUtil.parseToken(token));
+        }
+    }
+
+    // Repeated requests with the same tokens, served from the verified token cache.
+    @Benchmark
+    public void verifyToken(final Blackhole blackhole) {
+        for (final String token : tokens) {
+            blackhole.consume(jwtTokenUtil.verifyToken(token));
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.flashcards.dto;
+
+import com.example.flashcards.dto.flashcard.FlashcardDto;
+import com.example.flashcards.dto.flashcard.FlashcardRowDto;
+import com.example.flashcards.dto.quiz.QuizFlashcardRowDto;
+import com.example.flashcards.dto.quiz.QuizResultDto;
+import com.example.flashcards.dto.quiz.QuizRowDto;
+import com.example.flashcards.model.Answer;
+import com.example.flashcards.model.Flashcard;
+import com.example.flashcards.model.Language;
+import com.example.flashcards.model.Question;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping a whole deck from entities and from projection rows to the response DTOs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DtoMappingBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int deckSize;
+
+    private List<Flashcard> flashcards;
+    private List<FlashcardRowDto> flashcardRows;
+    private QuizRowDto quizRow;
+    private List<QuizFlashcardRowDto> quizFlashcardRows;
+
+    @Setup
+    public void setUp() {
+        final Language language = Language.builder().id(1).langCode("POL").name("Polish").build();
+        final Date now = new Date();
+        flashcards = new ArrayList<>(deckSize);
+        flashcardRows = new ArrayList<>(deckSize);
+        quizFlashcardRows = new ArrayList<>(deckSize);
+        for (int i = 0; i < deckSize; i++) {
+            flashcards.add(Flashcard.builder()
+                    .id(i)
+                    .creationDate(now)
+                    .question(Question.builder().id(i).value("question " + i).language(language).build())
+                    .answer(Answer.builder().id(i).value("answer " + i).language(language).build())
+                    .build());
+            flashcardRows.add(new FlashcardRowDto(i, "question " + i, "POL", "answer " + i, "POL", now, "question " + i));
+            quizFlashcardRows.add(new QuizFlashcardRowDto(i, "question " + i, "POL", "answer " + i,
+                    i % 2 == 0 ? "answer " + i : null, i % 2 == 0));
+        }
+        quizRow = new QuizRowDto(1, "quiz", 50, now, deckSize, deckSize / 2, deckSize / 2, 0);
+    }
+
+    @Benchmark
+    public void flashcardDtoFromEntity(final Blackhole blackhole) {
+        for (final Flashcard flashcard : flashcards) {
+            blackhole.consume(FlashcardDto.createFrom(flashcard));
+        }
+    }
+
+    @Benchmark
+    public void flashcardDtoFromRow(final Blackhole blackhole) {
+        for (final FlashcardRowDto flashcardRow : flashcardRows) {
+            blackhole.consume(flashcardRow.toFlashcardDto());
+        }
+    }
+
+    @Benchmark
+    public QuizResultDto quizResultDto() {
+        return QuizResultDto.createFrom(quizRow, quizFlashcardRows);
+    }
+}
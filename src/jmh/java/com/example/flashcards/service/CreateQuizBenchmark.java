@@ -0,0 +1,100 @@
+package com.example.flashcards.service;
+
+import com.example.flashcards.FlashcardsApplication;
+import com.example.flashcards.dto.flashcard.NewFlashcardDto;
+import com.example.flashcards.dto.quiz.QuizCreateDto;
+import com.example.flashcards.model.Language;
+import com.example.flashcards.model.User;
+import com.example.flashcards.repository.FlashcardRepository;
+import com.example.flashcards.repository.LanguageRepository;
+import com.example.flashcards.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link QuizService#createQuiz} end to end against the embedded H2 database of the test profile, so together with
+ * the statement counts checked in QuizServiceTest it shows how creating a quiz scales with its size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CreateQuizBenchmark {
+
+    private static final String USERNAME = "username";
+
+    @Param({"10", "100", "1000"})
+    private int quizSize;
+
+    private ConfigurableApplicationContext context;
+    private QuizService quizService;
+    private JdbcTemplate jdbcTemplate;
+    private QuizCreateDto quizCreateDto;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(FlashcardsApplication.class)
+                .profiles("test")
+                .properties("server.port=0")
+                .run();
+        quizService = context.getBean(QuizService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        context.getBean(UserRepository.class).save(User.builder()
+                .username(USERNAME)
+                .email("test@example.com")
+                .password("password")
+                .role("user")
+                .build());
+        final Language language = context.getBean(LanguageRepository.class).save(Language.builder()
+                .langCode("POL")
+                .name("Polish")
+                .build());
+        final List<NewFlashcardDto> flashcards = new ArrayList<>(quizSize);
+        for (int i = 0; i < quizSize; i++) {
+            flashcards.add(NewFlashcardDto.builder()
+                    .question("question " + i)
+                    .questionHash(i)
+                    .questionSortKey("question " + i)
+                    .questionLanguageId(language.getId())
+                    .questionLangCode(language.getLangCode())
+                    .answer("answer " + i)
+                    .normalizedAnswer("answer " + i)
+                    .answerLanguageId(language.getId())
+                    .answerLangCode(language.getLangCode())
+                    .build());
+        }
+        context.getBean(FlashcardRepository.class).insertAll(USERNAME, flashcards);
+
+        final Set<Integer> flashcardsIds = new HashSet<>(jdbcTemplate.queryForList("SELECT id FROM flashcard", Integer.class));
+        quizCreateDto = QuizCreateDto.builder()
+                .name("quiz")
+                .flashcardsId(flashcardsIds)
+                .build();
+    }
+
+    // Keeps the quiz tables from growing across iterations.
+    @TearDown(Level.Iteration)
+    public void deleteQuizzes() {
+        jdbcTemplate.update("DELETE FROM quiz_flashcard");
+        jdbcTemplate.update("DELETE FROM quiz");
+        jdbcTemplate.update("UPDATE flashcard SET usage_count = 0");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Integer createQuiz() {
+        return quizService.createQuiz(quizCreateDto, USERNAME).getId();
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.flashcards.service;
+
+import com.example.flashcards.dto.flashcard.FlashcardScheduleDto;
+import com.example.flashcards.dto.quiz.QuizAnswerStateDto;
+import com.example.flashcards.dto.quiz.QuizScoreDto;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The in-memory part of {@link QuizService#solveQuiz}: matching every answer, scheduling the next review and scoring.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class QuizScoringBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int deckSize;
+
+    // Typo tolerance of the matcher, 0 keeps matching to a single equality check.
+    @Param({"0", "2"})
+    private int maxTypos;
+
+    private QuizService quizService;
+    private List<QuizAnswerStateDto> answerStates;
+    private Map<Integer, String> userAnswers;
+
+    @Setup
+    public void setUp() {
+        final AnswerMatcher answerMatcher = new AnswerMatcher(maxTypos);
+        quizService = new QuizService(null, null, null, null, answerMatcher, new SpacedRepetitionScheduler(), null, null);
+
+        answerStates = new ArrayList<>(deckSize);
+        userAnswers = new HashMap<>();
+        for (int i = 0; i < deckSize; i++) {
+            final String answer = "Żółta łódź numer " + i;
+            answerStates.add(QuizAnswerStateDto.builder()
+                    .flashcardId(i)
+                    .correctAnswer(answer)
+                    .normalizedCorrectAnswer(answerMatcher.normalize(answer, "POL"))
+                    .langCode("POL")
+                    .easeFactor(2.5)
+                    .build());
+            // A third correct, a third with a typo and a third wrong.
+            userAnswers.put(i, i % 3 == 0 ? answer : i % 3 == 1 ? "zolta lodz numr " + i : "niebieski statek");
+        }
+    }
+
+    @Benchmark
+    public void scoreQuiz(final Blackhole blackhole) {
+        final Date reviewDate = new Date();
+        long answered = 0;
+        long correct = 0;
+        for (final QuizAnswerStateDto answerState : answerStates) {
+            final String userAnswer = userAnswers.get(answerState.getFlashcardId());
+            final boolean isCorrect = quizService.isCorrect(answerState, userAnswer);
+            final FlashcardScheduleDto schedule = quizService.review(answerState, isCorrect, reviewDate);
+            blackhole.consume(schedule);
+            answered += userAnswer != null ? 1 : 0;
+            correct += isCorrect ? 1 : 0;
+        }
+        blackhole.consume(new QuizScoreDto((long) answerStates.size(), answered, correct).toPercent());
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.flashcards.validation;
+
+import com.example.flashcards.dto.UserDto;
+import com.example.flashcards.dto.flashcard.AnswerDto;
+import com.example.flashcards.dto.flashcard.FlashcardDto;
+import com.example.flashcards.dto.flashcard.QuestionDto;
+import com.example.flashcards.dto.quiz.QuizSolveDto;
+import org.apache.commons.lang3.StringUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.passay.*;
+import org.springframework.validation.FieldError;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Per-request validation cost of register, create-flashcard and solve, for the compiled rule sets and for the
+ * previous per-call implementation kept below as a baseline. Run with -prof gc to compare allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ValidationBenchmark {
+
+    private static final int QUIZ_SIZE = 100;
+
+    private final UserValidator userValidator = new UserValidator();
+    private final FlashcardValidator flashcardValidator = new FlashcardValidator();
+    private final QuizValidator quizValidator = new QuizValidator();
+
+    private UserDto user;
+    private FlashcardDto flashcard;
+    private List<QuizSolveDto> answers;
+
+    @Setup
+    public void setUp() {
+        user = new UserDto("user_name", "user@example.com", "Fl4sh#Cards!", "Fl4sh#Cards!");
+        flashcard = FlashcardDto.builder()
+                .question(QuestionDto.builder().value("samochód").langCode("POL").build())
+                .answer(AnswerDto.builder().value("car").langCode("ENG").build())
+                .build();
+        answers = new ArrayList<>(QUIZ_SIZE);
+        for (int i = 0; i < QUIZ_SIZE; i++) {
+            answers.add(new QuizSolveDto(i, "answer " + i));
+        }
+    }
+
+    @Benchmark
+    public void register() {
+        userValidator.validateUserCreateParameters(user);
+    }
+
+    @Benchmark
+    public void registerBaseline(final Blackhole blackhole) {
+        blackhole.consume(Baseline.userErrors(user));
+    }
+
+    @Benchmark
+    public void createFlashcard() {
+        flashcardValidator.validateFlashcardParameters(flashcard);
+    }
+
+    @Benchmark
+    public void createFlashcardBaseline(final Blackhole blackhole) {
+        blackhole.consume(Baseline.flashcardErrors(flashcard));
+    }
+
+    @Benchmark
+    public void solve() {
+        answers.forEach(quizValidator::validateQuizSolveParameters);
+    }
+
+    @Benchmark
+    public void solveBaseline(final Blackhole blackhole) {
+        for (final QuizSolveDto answer : answers) {
+            blackhole.consume(Baseline.solveErrors(answer));
+        }
+    }
+
+    // The validators as they were before the compiled rule sets, reduced to their error collection.
+    private static final class Baseline {
+        private static final String EMAIL_PATTERN =
+                "^[_A-Za-z0-9- +]+(\\.[_A-Za-z0-9-]+)*@[A-Za-z0-9-]+(\\.[A-Za-z0-9]+)*(\\.[A-Za-z]{2,})$";
+        private static final String USERNAME_PATTERN = "^[a-zA-Z0-9]+([_ -]?[a-zA-Z0-9])*$";
+
+        private static List<FieldError> userErrors(final UserDto userDto) {
+            return Optional.ofNullable(userDto).map(ud -> Stream.of(checkUsername(ud.getUsername()),
+                            checkEmail(ud.getEmail()),
+                            checkPassword(ud.getPassword()),
+                            checkRepeatPassword(ud.getPassword(), ud.getRepeatPassword()))
+                    .filter(Objects::nonNull).collect(Collectors.toList())).orElse(Collections.emptyList());
+        }
+
+        private static List<FieldError> flashcardErrors(final FlashcardDto flashcardDto) {
+            return Optional.ofNullable(flashcardDto).map(f -> Stream.of(checkValue(f.getQuestion().getValue()),
+                            checkLangCode(f.getQuestion().getLangCode()),
+                            checkValue(f.getAnswer().getValue()),
+                            checkLangCode(f.getAnswer().getLangCode()))
+                    .filter(Objects::nonNull).collect(Collectors.toList())).orElse(Collections.emptyList());
+        }
+
+        private static List<FieldError> solveErrors(final QuizSolveDto quizSolveDto) {
+            return Optional.ofNullable(quizSolveDto).map(qs -> Stream.of(qs.getFlashcardId() == null
+                            ? new FieldError("Integer", "flashcardId", null, false, null, null, "Flashcard id needs to be provided.")
+                            : null)
+                    .filter(Objects::nonNull).collect(Collectors.toList())).orElse(Collections.emptyList());
+        }
+
+        private static FieldError checkUsername(final String username) {
+            if (StringUtils.isBlank(username) || username.length() > 32 || username.length() < 3
+                    || !(Pattern.compile(USERNAME_PATTERN).matcher(username).matches())) {
+                return new FieldError("String", "username", username, false, null, null, "Invalid username");
+            }
+            return null;
+        }
+
+        private static FieldError checkEmail(final String email) {
+            if (StringUtils.isBlank(email) || !(Pattern.compile(EMAIL_PATTERN).matcher(email).matches())) {
+                return new FieldError("String", "email", email, false, null, null, "Invalid email");
+            }
+            return null;
+        }
+
+        private static FieldError checkPassword(final String password) {
+            final PasswordValidator passwordValidator = new PasswordValidator(Arrays.asList(new LengthRule(8, 30),
+                    new CharacterRule(EnglishCharacterData.UpperCase, 1),
+                    new CharacterRule(EnglishCharacterData.Digit, 1),
+                    new CharacterRule(EnglishCharacterData.Special, 1),
+                    new IllegalSequenceRule(EnglishSequenceData.Numerical, 3, false),
+                    new IllegalSequenceRule(EnglishSequenceData.Alphabetical, 3, false),
+                    new IllegalSequenceRule(EnglishSequenceData.USQwerty, 3, false),
+                    new WhitespaceRule()));
+            if (StringUtils.isBlank(password) || !(passwordValidator.validate(new PasswordData(password)).isValid())) {
+                return new FieldError("String", "password", password, false, null, null, "Invalid password");
+            }
+            return null;
+        }
+
+        private static FieldError checkRepeatPassword(final String password, final String repeatPassword) {
+            if (StringUtils.isBlank(password) || StringUtils.isBlank(repeatPassword) || !(password.equals(repeatPassword))) {
+                return new FieldError("String", "repeatPassword", repeatPassword, false, null, null, "Passwords must be equals");
+            }
+            return null;
+        }
+
+        private static FieldError checkValue(final String value) {
+            if (StringUtils.isBlank(value) || value.length() > 32 || value.length() < 1) {
+                return new FieldError("String", "value", value, false, null, null, "Invalid name");
+            }
+            return null;
+        }
+
+        private static FieldError checkLangCode(final String langCode) {
+            if (StringUtils.isBlank(langCode) || langCode.length() != 3) {
+                return new FieldError("String", "langCode", langCode, false, null, null, "Invalid langCode");
+            }
+            return null;
+        }
+    }
+}
@@ -1,12 +1,19 @@
 package com.example.flashcards;
 
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.jcache.JCacheCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 @SpringBootApplication
+@EnableCaching
 public class FlashcardsApplication {
 
     public static void main(String[] args) {
@@ -14,8 +21,16 @@ public class FlashcardsApplication {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${security.password.bcrypt-strength:10}") final int strength) {
+        return new BCryptPasswordEncoder(strength);
+    }
+
+    // Hibernate's regions live in the application's JCache manager, so one ehcache.xml bounds every cache and actuator
+    // reports them together. Without a JCache manager (caching disabled in slice tests) Hibernate opens its own.
+    @Bean
+    public HibernatePropertiesCustomizer sharedCacheManagerCustomizer(final ObjectProvider<JCacheCacheManager> cacheManager) {
+        return properties -> cacheManager.ifAvailable(
+                manager -> properties.put(ConfigSettings.CACHE_MANAGER, manager.getCacheManager()));
     }
 
 }
@@ -1,27 +1,47 @@
 package com.example.flashcards.configuration;
 
+import com.example.flashcards.model.jwt.VerifiedToken;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Component
 public class JwtTokenUtil implements Serializable {
 
+    private static final String ROLE_CLAIM = "role";
+
     @Value("${jwt.expirationTime}")
     public long jwtTokenValidity;
 
     @Value("${jwt.secret}")
     private String secret;
 
+    // Tokens that passed the signature check, keyed by their SHA-256 digest so the cache does not hold bearer tokens.
+    private final transient Cache<String, VerifiedToken> verifiedTokens;
+
+    public JwtTokenUtil(@Value("${jwt.verified-cache.max-tokens:10000}") final long maxVerifiedTokens) {
+        this.verifiedTokens = CacheBuilder.newBuilder()
+                .maximumSize(maxVerifiedTokens)
+                .build();
+    }
+
     public String getUsernameFromToken(String token) {
         return getClaimFromToken(token, Claims::getSubject);
     }
@@ -40,15 +60,34 @@ public class JwtTokenUtil implements Serializable {
         return Jwts.parser().setSigningKey(secret).parseClaimsJws(token).getBody();
     }
 
-    //check if the token has expired
-    private Boolean isTokenExpired(String token) {
-        final Date expiration = getExpirationDateFromToken(token);
-        return expiration.before(new Date());
+    //verifies the signature once per token, repeated requests with the same token are served from the cache
+    //throws ExpiredJwtException for expired tokens and JwtException or IllegalArgumentException for invalid ones
+    public VerifiedToken verifyToken(String token) {
+        final String digest = Hashing.sha256().hashString(token, StandardCharsets.UTF_8).toString();
+        VerifiedToken verifiedToken = verifiedTokens.getIfPresent(digest);
+        if (verifiedToken == null) {
+            verifiedToken = parseToken(token);
+            verifiedTokens.put(digest, verifiedToken);
+        }
+        if (verifiedToken.isExpired(Instant.now())) {
+            verifiedTokens.invalidate(digest);
+            throw new ExpiredJwtException(null, null, "JWT Token has expired");
+        }
+        return verifiedToken;
+    }
+
+    VerifiedToken parseToken(String token) {
+        final Claims claims = getAllClaimsFromToken(token);
+        return new VerifiedToken(claims.getSubject(), claims.get(ROLE_CLAIM, String.class),
+                claims.getExpiration().toInstant());
     }
 
     //generate token for user
     public String generateToken(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
+        claims.put(ROLE_CLAIM, userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.joining(",")));
         return doGenerateToken(claims, userDetails.getUsername());
     }
 
@@ -63,10 +102,4 @@ public class JwtTokenUtil implements Serializable {
                 .setExpiration(new Date(System.currentTimeMillis() + jwtTokenValidity * 1000))
                 .signWith(SignatureAlgorithm.HS512, secret).compact();
     }
-
-    //validate token
-    public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = getUsernameFromToken(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
-    }
-}
\ No newline at end of file
+}
@@ -1,15 +1,32 @@
 package com.example.flashcards.controller;
 
+import com.example.flashcards.dto.KeysetCursor;
+import com.example.flashcards.dto.PageDto;
+import com.example.flashcards.dto.flashcard.DueFlashcardDto;
+import com.example.flashcards.dto.flashcard.ExportFormat;
+import com.example.flashcards.dto.flashcard.FlashcardDeckDto;
+import com.example.flashcards.dto.flashcard.ImportReportDto;
 import com.example.flashcards.dto.flashcard.FlashcardDto;
+import com.example.flashcards.service.DataVersionService;
+import com.example.flashcards.service.FlashcardExportService;
+import com.example.flashcards.service.FlashcardImportService;
 import com.example.flashcards.service.FlashcardService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import lombok.AllArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 import static org.springframework.http.HttpStatus.CREATED;
@@ -21,14 +38,84 @@ import static org.springframework.http.HttpStatus.OK;
 public class FlashcardController {
 
     private FlashcardService flashcardsService;
+    private FlashcardExportService flashcardExportService;
+    private FlashcardImportService flashcardImportService;
+    private DataVersionService dataVersionService;
 
+    // No @ResponseStatus: it would overwrite the 304 answered by checkNotModified with 200.
     @GetMapping()
-    @ResponseStatus(OK)
     @Operation(security = @SecurityRequirement(name = "token"), summary = "Get flashcards for user",
             responses = {@ApiResponse(responseCode = "200", description = "Data collected"),
-                    @ApiResponse(responseCode = "404", description = "User not found")})
-    List<FlashcardDto> all(final Authentication authentication) {
-        return flashcardsService.getFlashcards(authentication.getName());
+                    @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match"),
+                    @ApiResponse(responseCode = "400", description = "Invalid cursor or page size")})
+    PageDto<FlashcardDto> all(@RequestParam(value = "cursor", required = false) final String cursor,
+                              @RequestParam(value = "size", defaultValue = "" + KeysetCursor.DEFAULT_PAGE_SIZE) final int size,
+                              final Authentication authentication, final WebRequest webRequest,
+                              final HttpServletResponse response) {
+        final String username = authentication.getName();
+        varyByAccept(response);
+        if (dataVersionService.getUserETag(username).map(webRequest::checkNotModified).orElse(false)) {
+            return null;
+        }
+        return flashcardsService.getFlashcards(cursor, size, username);
+    }
+
+    // Same page for Accept: application/cbor, with lang codes listed once. Its ETag differs from the JSON one, as
+    // caches must not answer one representation with the other.
+    @GetMapping(produces = MediaType.APPLICATION_CBOR_VALUE)
+    @Operation(security = @SecurityRequirement(name = "token"), summary = "Get flashcards for user as a compact deck",
+            responses = {@ApiResponse(responseCode = "200", description = "Data collected"),
+                    @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match"),
+                    @ApiResponse(responseCode = "400", description = "Invalid cursor or page size")})
+    FlashcardDeckDto deck(@RequestParam(value = "cursor", required = false) final String cursor,
+                          @RequestParam(value = "size", defaultValue = "" + KeysetCursor.DEFAULT_PAGE_SIZE) final int size,
+                          final Authentication authentication, final WebRequest webRequest,
+                          final HttpServletResponse response) {
+        final String username = authentication.getName();
+        varyByAccept(response);
+        if (dataVersionService.getUserETag(username).map(eTag -> eTag + "c").map(webRequest::checkNotModified).orElse(false)) {
+            return null;
+        }
+        return FlashcardDeckDto.createFrom(flashcardsService.getFlashcards(cursor, size, username));
+    }
+
+    @GetMapping("/due")
+    @ResponseStatus(OK)
+    @Operation(security = @SecurityRequirement(name = "token"), summary = "Get flashcards due for review",
+            responses = {@ApiResponse(responseCode = "200", description = "Data collected"),
+                    @ApiResponse(responseCode = "400", description = "Invalid limit")})
+    List<DueFlashcardDto> getDueFlashcards(@RequestParam(value = "limit", defaultValue = "20") final int limit,
+                                           final Authentication authentication) {
+
+        return flashcardsService.getDueFlashcards(limit, authentication.getName());
+    }
+
+    @GetMapping("/export")
+    @Operation(security = @SecurityRequirement(name = "token"), summary = "Export flashcards as NDJSON or CSV",
+            responses = {@ApiResponse(responseCode = "200", description = "Exported"),
+                    @ApiResponse(responseCode = "400", description = "Invalid export format")})
+    ResponseEntity<StreamingResponseBody> exportFlashcards(
+            @RequestParam(value = "format", defaultValue = "ndjson") final String format,
+            final Authentication authentication) {
+
+        final ExportFormat exportFormat = ExportFormat.fromValue(format);
+        final String username = authentication.getName();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("flashcards." + exportFormat.getFileExtension()).build().toString())
+                .body(outputStream -> flashcardExportService.exportFlashcards(exportFormat, username, outputStream));
+    }
+
+    @PostMapping("/import")
+    @ResponseStatus(OK)
+    @Operation(security = @SecurityRequirement(name = "token"), summary = "Import flashcards from NDJSON or CSV",
+            responses = {@ApiResponse(responseCode = "200", description = "Imported, rejected rows are reported"),
+                    @ApiResponse(responseCode = "400", description = "Invalid import format or malformed content")})
+    ImportReportDto importFlashcards(@RequestParam(value = "format", defaultValue = "ndjson") final String format,
+                                     final InputStream body, final Authentication authentication) throws IOException {
+
+        return flashcardImportService.importFlashcards(ExportFormat.fromValue(format), authentication.getName(), body);
     }
 
     @GetMapping("/{id}")
@@ -79,26 +166,43 @@ public class FlashcardController {
 
     @GetMapping("/sort")
     @ResponseStatus(OK)
-    @Operation(security = @SecurityRequirement(name = "token"), summary = "Sort flashcard",
+    @Operation(security = @SecurityRequirement(name = "token"),
+            summary = "Filter flashcards and order them by creationDate, question or language",
             responses = {@ApiResponse(responseCode = "200", description = "Sorted"),
-                    @ApiResponse(responseCode = "404", description = "User not found")})
-    List<FlashcardDto> sortFlashcards(@RequestParam(value = "questionLangCode", required = false) final String questionLangCode,
-                                      @RequestParam(value = "answerLangCode", required = false) final String answerLangCode,
-                                      final Authentication authentication) {
-
-        return flashcardsService.sortFlashcards(questionLangCode, answerLangCode, authentication.getName());
+                    @ApiResponse(responseCode = "400", description = "Invalid order, direction, cursor or page size")})
+    PageDto<FlashcardDto> sortFlashcards(@RequestParam(value = "questionLangCode", required = false) final String questionLangCode,
+                                         @RequestParam(value = "answerLangCode", required = false) final String answerLangCode,
+                                         @RequestParam(value = "questionPrefix", required = false) final String questionPrefix,
+                                         @RequestParam(value = "orderBy", defaultValue = "question") final String orderBy,
+                                         @RequestParam(value = "direction", defaultValue = "asc") final String direction,
+                                         @RequestParam(value = "cursor", required = false) final String cursor,
+                                         @RequestParam(value = "size", defaultValue = "" + KeysetCursor.DEFAULT_PAGE_SIZE) final int size,
+                                         final Authentication authentication) {
+
+        return flashcardsService.sortFlashcards(questionLangCode, answerLangCode, questionPrefix, orderBy, direction,
+                cursor, size, authentication.getName());
     }
 
     @GetMapping("/search")
     @ResponseStatus(OK)
-    @Operation(security = @SecurityRequirement(name = "token"), summary = "Sort flashcard",
-            responses = {@ApiResponse(responseCode = "200", description = "Sorted"),
-                    @ApiResponse(responseCode = "404", description = "User not found")})
-    List<FlashcardDto> searchFlashcards(
+    @Operation(security = @SecurityRequirement(name = "token"), summary = "Search flashcards, best matches first",
+            responses = {@ApiResponse(responseCode = "200", description = "Found"),
+                    @ApiResponse(responseCode = "400", description = "Blank query, invalid cursor or page size")})
+    PageDto<FlashcardDto> searchFlashcards(
             @RequestParam(value = "questionLangCode", required = false) final String questionLangCode,
             @RequestParam(value = "answerLangCode", required = false) final String answerLangCode,
-            @RequestParam("questionQuery") final String questionQuery, final Authentication authentication) {
+            @RequestParam("questionQuery") final String questionQuery,
+            @RequestParam(value = "includeAnswers", defaultValue = "false") final boolean includeAnswers,
+            @RequestParam(value = "cursor", required = false) final String cursor,
+            @RequestParam(value = "size", defaultValue = "" + KeysetCursor.DEFAULT_PAGE_SIZE) final int size,
+            final Authentication authentication) {
+
+        return flashcardsService.searchFlashcards(questionLangCode, answerLangCode, questionQuery, includeAnswers,
+                cursor, size, authentication.getName());
+    }
 
-        return flashcardsService.searchFlashcards(questionLangCode, answerLangCode, questionQuery, authentication.getName());
+    // The list is also served as CBOR, so caches must key its 200s and 304s by Accept besides the URL.
+    private static void varyByAccept(final HttpServletResponse response) {
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
     }
 }
@@ -1,15 +1,21 @@
 package com.example.flashcards.controller;
 
+import com.example.flashcards.dto.KeysetCursor;
+import com.example.flashcards.dto.PageDto;
 import com.example.flashcards.dto.quiz.*;
+import com.example.flashcards.service.DataVersionService;
 import com.example.flashcards.service.QuizService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import javax.servlet.http.HttpServletResponse;
 import java.util.List;
 
 import static org.springframework.http.HttpStatus.CREATED;
@@ -20,14 +26,24 @@ import static org.springframework.http.HttpStatus.OK;
 @RequestMapping("/api/v1/quizzes")
 public class QuizController {
     private final QuizService quizService;
+    private final DataVersionService dataVersionService;
+
+    // Conditional reads return null after checkNotModified has answered 304, so they must not declare
+    // @ResponseStatus: it would overwrite the 304 with 200.
 
     @GetMapping()
-    @ResponseStatus(OK)
     @Operation(security = @SecurityRequirement(name = "token"), summary = "Get all quizzes for user",
             responses = {@ApiResponse(responseCode = "200", description = "OK"),
-                    @ApiResponse(responseCode = "404", description = "User not found")})
-    List<QuizDto> getAll(final Authentication authentication) {
-        return quizService.getAll(authentication.getName());
+                    @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match"),
+                    @ApiResponse(responseCode = "400", description = "Invalid cursor or page size")})
+    PageDto<QuizDto> getAll(@RequestParam(value = "cursor", required = false) final String cursor,
+                            @RequestParam(value = "size", defaultValue = "" + KeysetCursor.DEFAULT_PAGE_SIZE) final int size,
+                            final Authentication authentication, final WebRequest webRequest) {
+        final String username = authentication.getName();
+        if (dataVersionService.getUserETag(username).map(webRequest::checkNotModified).orElse(false)) {
+            return null;
+        }
+        return quizService.getAll(cursor, size, username);
     }
 
     @PostMapping
@@ -53,25 +69,51 @@ public class QuizController {
     }
 
     @GetMapping("/{id}")
-    @ResponseStatus(OK)
     @Operation(security = @SecurityRequirement(name = "token"), summary = "Get quiz by id",
             responses = {@ApiResponse(responseCode = "200", description = "OK"),
+                    @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match"),
                     @ApiResponse(responseCode = "404", description = "Quiz/User not found")})
-    QuizDetailsDto getQuizDetailsToDisplayEdit(@PathVariable final int id, final Authentication authentication) {
+    QuizDetailsDto getQuizDetailsToDisplayEdit(@PathVariable final int id, final Authentication authentication,
+                                               final WebRequest webRequest, final HttpServletResponse response) {
+        final String username = authentication.getName();
+        varyByAccept(response);
+        if (dataVersionService.getQuizETag(id, username).map(webRequest::checkNotModified).orElse(false)) {
+            return null;
+        }
+        return quizService.getQuizDetails(id, username);
+    }
 
-        return quizService.getQuizDetails(id, authentication.getName());
+    // Accept: application/cbor, with lang codes listed once and an ETag of its own.
+    @GetMapping(value = {"/{id}", "/{id}/solve"}, produces = MediaType.APPLICATION_CBOR_VALUE)
+    @Operation(security = @SecurityRequirement(name = "token"), summary = "Get quiz by id as a compact deck",
+            responses = {@ApiResponse(responseCode = "200", description = "OK"),
+                    @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match"),
+                    @ApiResponse(responseCode = "404", description = "Quiz/User not found")})
+    QuizDeckDto getQuizDeck(@PathVariable final int id, final Authentication authentication, final WebRequest webRequest,
+                            final HttpServletResponse response) {
+        final String username = authentication.getName();
+        varyByAccept(response);
+        if (dataVersionService.getQuizETag(id, username).map(eTag -> eTag + "c").map(webRequest::checkNotModified).orElse(false)) {
+            return null;
+        }
+        return QuizDeckDto.createFrom(quizService.getQuizDetails(id, username));
     }
 
     @GetMapping("/{id}/solve")
-    @ResponseStatus(OK)
     @Operation(security = @SecurityRequirement(name = "token"), summary = "Get quiz data to solve quiz",
             responses = {@ApiResponse(responseCode = "200", description = "OK"),
+                    @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match"),
                     @ApiResponse(responseCode = "400", description = "Invalid data"),
                     @ApiResponse(responseCode = "404", description = "Quiz/Flashcard/User not found"),
                     @ApiResponse(responseCode = "409", description = "Flashcard with inputted question already exists")})
-    QuizDetailsDto getQuizDetailsToSolveQuiz(@PathVariable final int id, final Authentication authentication) {
-
-        return quizService.getQuizDetails(id, authentication.getName());
+    QuizDetailsDto getQuizDetailsToSolveQuiz(@PathVariable final int id, final Authentication authentication,
+                                             final WebRequest webRequest, final HttpServletResponse response) {
+        final String username = authentication.getName();
+        varyByAccept(response);
+        if (dataVersionService.getQuizETag(id, username).map(webRequest::checkNotModified).orElse(false)) {
+            return null;
+        }
+        return quizService.getQuizDetails(id, username);
     }
 
     @PostMapping("/{id}/solve")
@@ -85,14 +127,39 @@ public class QuizController {
         quizService.solveQuiz(id, quizSolveDtos, authentication.getName());
     }
 
-    @GetMapping("/{id}/results")
+    @PostMapping("/{id}/answers")
+    @ResponseStatus(OK)
+    @Operation(security = @SecurityRequirement(name = "token"), summary = "Submit answer for single flashcard of quiz",
+            responses = {@ApiResponse(responseCode = "200", description = "Answer saved"),
+                    @ApiResponse(responseCode = "400", description = "Invalid data"),
+                    @ApiResponse(responseCode = "404", description = "Quiz/Flashcard not found"),
+                    @ApiResponse(responseCode = "409", description = "Answer was changed concurrently")})
+    QuizAnswerResultDto submitAnswer(@PathVariable final int id, @RequestBody final QuizSolveDto quizSolveDto, final Authentication authentication) {
+
+        return quizService.submitAnswer(id, quizSolveDto, authentication.getName());
+    }
+
+    @DeleteMapping("/{id}/answers")
     @ResponseStatus(OK)
+    @Operation(security = @SecurityRequirement(name = "token"), summary = "Clear answers of quiz",
+            responses = {@ApiResponse(responseCode = "200", description = "Cleared"),
+                    @ApiResponse(responseCode = "404", description = "Quiz/User not found")})
+    void resetAnswers(@PathVariable final int id, final Authentication authentication) {
+
+        quizService.resetAnswers(id, authentication.getName());
+    }
+
+    @GetMapping("/{id}/results")
     @Operation(security = @SecurityRequirement(name = "token"), summary = "Get quiz result",
             responses = {@ApiResponse(responseCode = "200", description = "OK"),
+                    @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match"),
                     @ApiResponse(responseCode = "404", description = "Quiz/User not found")})
-    QuizResultDto getResults(@PathVariable final int id, final Authentication authentication) {
-
-        return quizService.getResults(id, authentication.getName());
+    QuizResultDto getResults(@PathVariable final int id, final Authentication authentication, final WebRequest webRequest) {
+        final String username = authentication.getName();
+        if (dataVersionService.getQuizETag(id, username).map(webRequest::checkNotModified).orElse(false)) {
+            return null;
+        }
+        return quizService.getResults(id, username);
     }
 
     @DeleteMapping("/{id}")
@@ -104,4 +171,9 @@ public class QuizController {
 
         quizService.deleteQuizById(id, authentication.getName());
     }
+
+    // Quiz views also come as a CBOR deck; without Vary a cache could answer one Accept with the body or 304 of the other.
+    private static void varyByAccept(final HttpServletResponse response) {
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+    }
 }
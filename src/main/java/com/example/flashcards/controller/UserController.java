@@ -29,7 +29,8 @@ public class UserController {
     @Operation(summary = "Create user.",
             responses = {@ApiResponse(responseCode = "201", description = "User created"),
                     @ApiResponse(responseCode = "409", description = "User already exist", content = @Content),
-                    @ApiResponse(responseCode = "400", description = "Email, username or password not valid")})
+                    @ApiResponse(responseCode = "400", description = "Email, username or password not valid"),
+                    @ApiResponse(responseCode = "503", description = "Too many password operations in progress", content = @Content)})
     void create(@RequestBody UserDto userDto) {
 
         userService.createNewUser(userDto);
@@ -40,7 +41,7 @@ public class UserController {
     @Operation(summary = "Login using email and password.",
             responses = {@ApiResponse(responseCode = "200", description = "Successfully logged in"),
                     @ApiResponse(responseCode = "400", description = "Email or password is not valid"),
-                    @ApiResponse(responseCode = "404", description = "User not found")})
+                    @ApiResponse(responseCode = "503", description = "Too many password operations in progress", content = @Content)})
     UserLoginDto createAuthenticationToken(@RequestBody JwtRequest request) {
 
         return userService.loginAndCreateToken(request);
@@ -50,7 +51,8 @@ public class UserController {
     @ResponseStatus(OK)
     @Operation(security = @SecurityRequirement(name = "token"), summary = "Update user password",
             responses = {@ApiResponse(responseCode = "200", description = "Password updated"),
-                    @ApiResponse(responseCode = "404", description = "User not found")})
+                    @ApiResponse(responseCode = "404", description = "User not found"),
+                    @ApiResponse(responseCode = "503", description = "Too many password operations in progress", content = @Content)})
     void updatePasswordForUser(final Authentication authentication, @RequestBody UserPasswordDto userPasswordDto) {
 
         userService.changePassword(authentication.getName(), userPasswordDto);
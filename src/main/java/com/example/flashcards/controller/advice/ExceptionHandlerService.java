@@ -5,6 +5,7 @@ import com.example.flashcards.exception.BadRequestException;
 import com.example.flashcards.exception.ConflictException;
 import com.example.flashcards.exception.InvalidArgumentException;
 import com.example.flashcards.exception.NotFoundException;
+import com.example.flashcards.exception.ServiceUnavailableException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseBody;
@@ -35,6 +36,12 @@ public class ExceptionHandlerService {
         return buildErrorResponse(exception);
     }
 
+    @ResponseStatus(SERVICE_UNAVAILABLE)
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ErrorResponse serviceUnavailableHandler(final ServiceUnavailableException exception) {
+        return buildErrorResponse(exception);
+    }
+
     @ResponseStatus(BAD_REQUEST)
     @ExceptionHandler(InvalidArgumentException.class)
     public ErrorResponse invalidArgumentHandler(final InvalidArgumentException exception) {
@@ -0,0 +1,67 @@
+package com.example.flashcards.dto;
+
+import com.example.flashcards.exception.BadRequestException;
+import lombok.Builder;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * Position after the last row of a page ordered by (creation_date, id). Encoded as an opaque url-safe string.
+ */
+@Value
+@Data
+@Builder
+@RequiredArgsConstructor
+public class KeysetCursor {
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
+    private static final KeysetCursor FIRST_PAGE = new KeysetCursor(new Timestamp(0), 0);
+
+    Timestamp creationDate;
+    Integer id;
+
+    public static KeysetCursor of(final Date creationDate, final Integer id) {
+        return new KeysetCursor(creationDate instanceof Timestamp
+                ? (Timestamp) creationDate : new Timestamp(creationDate.getTime()), id);
+    }
+
+    public static KeysetCursor decode(final String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return FIRST_PAGE;
+        }
+        try {
+            final String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+            final Timestamp creationDate = new Timestamp(Long.parseLong(parts[0]) * 1000);
+            creationDate.setNanos(Integer.parseInt(parts[1]));
+            return new KeysetCursor(creationDate, Integer.valueOf(parts[2]));
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    // Database timestamps keep sub-millisecond precision, so the cursor carries seconds and nanos separately.
+    public String encode() {
+        final String value = Math.floorDiv(creationDate.getTime(), 1000) + ":" + creationDate.getNanos() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Pageable pageRequest(final int size) {
+        checkPageSize(size);
+        return PageRequest.of(0, size + 1);
+    }
+
+    public static void checkPageSize(final int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.flashcards.dto;
+
+import com.example.flashcards.exception.BadRequestException;
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in a ranked result list, used where rows have no stable sort key. Encoded as an opaque url-safe string.
+ */
+@Value
+public class OffsetCursor {
+
+    private static final OffsetCursor FIRST_PAGE = new OffsetCursor(0);
+
+    int offset;
+
+    public static OffsetCursor decode(final String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return FIRST_PAGE;
+        }
+        try {
+            final int offset = Integer.parseInt(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+            if (offset < 0) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            return new OffsetCursor(offset);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(String.valueOf(offset).getBytes(StandardCharsets.UTF_8));
+    }
+}
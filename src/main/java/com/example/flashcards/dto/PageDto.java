@@ -0,0 +1,40 @@
+package com.example.flashcards.dto;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Value
+@Data
+@Builder
+@RequiredArgsConstructor
+public class PageDto<T> {
+    List<T> content;
+    String nextCursor;
+
+    // Rows are fetched with one extra element, whose presence tells that another page exists.
+    public static <R, T> PageDto<T> createFrom(final List<R> rows, final int size, final Function<R, T> mapper,
+                                               final Function<R, String> cursorMapper) {
+        final List<R> pageRows = rows.size() > size ? rows.subList(0, size) : rows;
+        return PageDto.<T>builder()
+                .content(pageRows.stream().map(mapper).collect(Collectors.toList()))
+                .nextCursor(rows.size() > size ? cursorMapper.apply(pageRows.get(size - 1)) : null)
+                .build();
+    }
+
+    // Pages over a result list that is already fully in memory, such as a ranked search.
+    public static <R, T> PageDto<T> createFrom(final List<R> rows, final OffsetCursor after, final int size,
+                                               final Function<R, T> mapper) {
+        final int from = Math.min(after.getOffset(), rows.size());
+        final int to = Math.min(from + size, rows.size());
+        return PageDto.<T>builder()
+                .content(rows.subList(from, to).stream().map(mapper).collect(Collectors.toList()))
+                .nextCursor(to < rows.size() ? new OffsetCursor(to).encode() : null)
+                .build();
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.flashcards.dto.flashcard;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+
+import java.util.Date;
+
+@Value
+@Data
+@Builder
+@RequiredArgsConstructor
+public class DueFlashcardDto {
+    Integer id;
+    String question;
+    String questionLangCode;
+    String answer;
+    String answerLangCode;
+    Date nextDue;
+}
@@ -0,0 +1,22 @@
+package com.example.flashcards.dto.flashcard;
+
+import com.example.flashcards.exception.BadRequestException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+
+@Getter
+@RequiredArgsConstructor
+public enum ExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String mediaType;
+    private final String fileExtension;
+
+    public static ExportFormat fromValue(final String value) {
+        return Arrays.stream(values()).filter(format -> format.name().equalsIgnoreCase(value)).findFirst()
+                .orElseThrow(() -> new BadRequestException("Invalid export format"));
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.flashcards.dto.flashcard;
+
+import com.example.flashcards.exception.BadRequestException;
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * Position after the last row of a flashcard page. Carries the keys of every {@link FlashcardOrder}, so one cursor
+ * format serves all of them. Encoded as an opaque url-safe string.
+ */
+@Value
+public class FlashcardCursor {
+
+    private static final String SEPARATOR = ":";
+
+    Timestamp creationDate;
+    String questionSortKey;
+    String questionLangCode;
+    String answerLangCode;
+    Integer id;
+
+    public static FlashcardCursor of(final FlashcardRowDto row) {
+        final Date creationDate = row.getCreationDate();
+        return new FlashcardCursor(creationDate instanceof Timestamp ? (Timestamp) creationDate
+                : new Timestamp(creationDate.getTime()), row.getQuestionSortKey(), row.getQuestionLangCode(),
+                row.getAnswerLangCode(), row.getId());
+    }
+
+    public static FlashcardCursor decode(final String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            final String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split(SEPARATOR, -1);
+            final Timestamp creationDate = new Timestamp(Long.parseLong(parts[0]) * 1000);
+            creationDate.setNanos(Integer.parseInt(parts[1]));
+            return new FlashcardCursor(creationDate, decodeText(parts[2]), decodeText(parts[3]), decodeText(parts[4]),
+                    Integer.valueOf(parts[5]));
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    // Database timestamps keep sub-millisecond precision, so the cursor carries seconds and nanos separately.
+    public String encode() {
+        final String value = String.join(SEPARATOR, String.valueOf(Math.floorDiv(creationDate.getTime(), 1000)),
+                String.valueOf(creationDate.getNanos()), encodeText(questionSortKey), encodeText(questionLangCode),
+                encodeText(answerLangCode), String.valueOf(id));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String encodeText(final String text) {
+        return text == null ? "" : Base64.getUrlEncoder().withoutPadding().encodeToString(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodeText(final String text) {
+        return text.isEmpty() ? null : new String(Base64.getUrlDecoder().decode(text), StandardCharsets.UTF_8);
+    }
+}
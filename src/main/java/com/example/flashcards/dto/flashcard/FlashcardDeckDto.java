@@ -0,0 +1,58 @@
+package com.example.flashcards.dto.flashcard;
+
+import com.example.flashcards.dto.PageDto;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.Builder;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Compact page of flashcards for binary clients: lang codes are listed once and every flashcard is an array of
+ * [id, question, question lang code index, answer, answer lang code index].
+ */
+@Value
+@Data
+@Builder
+@RequiredArgsConstructor
+public class FlashcardDeckDto {
+    List<String> langCodes;
+    List<Card> flashcards;
+    String nextCursor;
+
+    public static FlashcardDeckDto createFrom(final PageDto<FlashcardDto> page) {
+        final LangCodeDictionary langCodes = new LangCodeDictionary();
+        final List<Card> flashcards = page.getContent().stream()
+                .map(flashcard -> Card.builder()
+                        .id(flashcard.getId())
+                        .question(flashcard.getQuestion().getValue())
+                        .questionLang(langCodes.indexOf(flashcard.getQuestion().getLangCode()))
+                        .answer(flashcard.getAnswer().getValue())
+                        .answerLang(langCodes.indexOf(flashcard.getAnswer().getLangCode()))
+                        .build())
+                .collect(Collectors.toList());
+        return FlashcardDeckDto.builder()
+                .langCodes(langCodes.getLangCodes())
+                .flashcards(flashcards)
+                .nextCursor(page.getNextCursor())
+                .build();
+    }
+
+    @Value
+    @Data
+    @Builder
+    @RequiredArgsConstructor
+    @JsonFormat(shape = JsonFormat.Shape.ARRAY)
+    @JsonPropertyOrder({"id", "question", "questionLang", "answer", "answerLang"})
+    public static class Card {
+        Integer id;
+        String question;
+        int questionLang;
+        String answer;
+        int answerLang;
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.flashcards.dto.flashcard;
+
+import com.example.flashcards.exception.BadRequestException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+
+/**
+ * Orders of a flashcard listing. Each one is served by a (users, ...) index of the flashcard table, with id as tiebreaker.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum FlashcardOrder {
+    CREATION_DATE("creationDate"),
+    QUESTION("question"),
+    LANGUAGE("language");
+
+    private final String value;
+
+    public static FlashcardOrder fromValue(final String value) {
+        return Arrays.stream(values()).filter(order -> order.value.equalsIgnoreCase(value)).findFirst()
+                .orElseThrow(() -> new BadRequestException("Invalid order"));
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.flashcards.dto.flashcard;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+
+/**
+ * One page of a user's flashcards. Null filters and a null cursor are left out of the query.
+ */
+@Value
+@Data
+@Builder
+@RequiredArgsConstructor
+public class FlashcardQuery {
+    String username;
+    String questionLangCode;
+    String answerLangCode;
+    String questionSortKeyPrefix;
+    FlashcardOrder order;
+    boolean descending;
+    FlashcardCursor after;
+    int limit;
+}
@@ -0,0 +1,17 @@
+package com.example.flashcards.dto.flashcard;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+
+@Value
+@Data
+@Builder
+@RequiredArgsConstructor
+public class FlashcardQuestionDto {
+    Integer id;
+    String username;
+    String question;
+    String langCode;
+}
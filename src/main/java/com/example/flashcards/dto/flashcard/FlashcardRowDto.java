@@ -0,0 +1,30 @@
+package com.example.flashcards.dto.flashcard;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+
+import java.util.Date;
+
+@Value
+@Data
+@Builder
+@RequiredArgsConstructor
+public class FlashcardRowDto {
+    Integer id;
+    String question;
+    String questionLangCode;
+    String answer;
+    String answerLangCode;
+    Date creationDate;
+    String questionSortKey;
+
+    public FlashcardDto toFlashcardDto() {
+        return FlashcardDto.builder()
+                .id(id)
+                .question(QuestionDto.builder().value(question).langCode(questionLangCode).build())
+                .answer(AnswerDto.builder().value(answer).langCode(answerLangCode).build())
+                .build();
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.flashcards.dto.flashcard;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+
+import java.util.Date;
+
+@Value
+@Data
+@Builder
+@RequiredArgsConstructor
+public class FlashcardScheduleDto {
+    Integer flashcardId;
+    double easeFactor;
+    int reviewInterval;
+    int repetitions;
+    Date nextDue;
+}
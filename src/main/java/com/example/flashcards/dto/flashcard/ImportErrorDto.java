@@ -0,0 +1,15 @@
+package com.example.flashcards.dto.flashcard;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+
+@Value
+@Data
+@Builder
+@RequiredArgsConstructor
+public class ImportErrorDto {
+    long row;
+    String message;
+}
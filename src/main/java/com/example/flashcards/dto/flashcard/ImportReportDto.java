@@ -0,0 +1,17 @@
+package com.example.flashcards.dto.flashcard;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+@Data
+@Builder
+@RequiredArgsConstructor
+public class ImportReportDto {
+    long imported;
+    List<ImportErrorDto> errors;
+}
@@ -0,0 +1,26 @@
+package com.example.flashcards.dto.flashcard;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lang codes of one compact payload, each listed once in order of first use and referenced by its index.
+ */
+public class LangCodeDictionary {
+
+    private final Map<String, Integer> indexes = new HashMap<>();
+    private final List<String> langCodes = new ArrayList<>();
+
+    public int indexOf(final String langCode) {
+        return indexes.computeIfAbsent(langCode, code -> {
+            langCodes.add(code);
+            return langCodes.size() - 1;
+        });
+    }
+
+    public List<String> getLangCodes() {
+        return langCodes;
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.flashcards.dto.flashcard;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+
+@Value
+@Data
+@Builder
+@RequiredArgsConstructor
+public class NewFlashcardDto {
+    String question;
+    long questionHash;
+    String questionSortKey;
+    Integer questionLanguageId;
+    String questionLangCode;
+    String answer;
+    String normalizedAnswer;
+    Integer answerLanguageId;
+    String answerLangCode;
+}
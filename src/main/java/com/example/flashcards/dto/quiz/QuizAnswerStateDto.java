@@ -0,0 +1,22 @@
+package com.example.flashcards.dto.quiz;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+
+@Value
+@Data
+@Builder
+@RequiredArgsConstructor
+public class QuizAnswerStateDto {
+    Integer flashcardId;
+    String correctAnswer;
+    String normalizedCorrectAnswer;
+    String langCode;
+    String userAnswer;
+    boolean correct;
+    double easeFactor;
+    int reviewInterval;
+    int repetitions;
+}
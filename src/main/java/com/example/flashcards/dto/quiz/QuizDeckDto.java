@@ -0,0 +1,54 @@
+package com.example.flashcards.dto.quiz;
+
+import com.example.flashcards.dto.flashcard.LangCodeDictionary;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.Builder;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Compact quiz details for binary clients: lang codes are listed once and every flashcard is an array of
+ * [id, question, question lang code index].
+ */
+@Value
+@Data
+@Builder
+@RequiredArgsConstructor
+public class QuizDeckDto {
+    QuizDto quizData;
+    List<String> langCodes;
+    List<Card> flashcards;
+
+    public static QuizDeckDto createFrom(final QuizDetailsDto quizDetails) {
+        final LangCodeDictionary langCodes = new LangCodeDictionary();
+        final List<Card> flashcards = quizDetails.getFlashcards().stream()
+                .map(flashcard -> Card.builder()
+                        .id(flashcard.getId())
+                        .question(flashcard.getQuestion().getValue())
+                        .questionLang(langCodes.indexOf(flashcard.getQuestion().getLangCode()))
+                        .build())
+                .collect(Collectors.toList());
+        return QuizDeckDto.builder()
+                .quizData(quizDetails.getQuizData())
+                .langCodes(langCodes.getLangCodes())
+                .flashcards(flashcards)
+                .build();
+    }
+
+    @Value
+    @Data
+    @Builder
+    @RequiredArgsConstructor
+    @JsonFormat(shape = JsonFormat.Shape.ARRAY)
+    @JsonPropertyOrder({"id", "question", "questionLang"})
+    public static class Card {
+        Integer id;
+        String question;
+        int questionLang;
+    }
+}
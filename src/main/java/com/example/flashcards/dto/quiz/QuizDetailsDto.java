@@ -1,12 +1,11 @@
 package com.example.flashcards.dto.quiz;
 
-import com.example.flashcards.model.Flashcard;
-import com.example.flashcards.model.Quiz;
 import lombok.Builder;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.Value;
 
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -18,9 +17,9 @@ public class QuizDetailsDto {
     QuizDto quizData;
     Set<QuizFlashcardDto> flashcards;
 
-    public static QuizDetailsDto createFrom(final Quiz quiz, final Set<Flashcard> flashcards) {
+    public static QuizDetailsDto createFrom(final QuizRowDto quiz, final List<QuizFlashcardRowDto> flashcards) {
         return QuizDetailsDto.builder()
-                .quizData(QuizDto.createFrom(quiz))
+                .quizData(quiz.toQuizDto())
                 .flashcards(flashcards.stream().map(QuizFlashcardDto::createFrom).collect(Collectors.toSet()))
                 .build();
     }
@@ -6,6 +6,8 @@ import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.Value;
 
+import java.util.Date;
+
 @Value
 @Data
 @Builder
@@ -14,12 +16,14 @@ public class QuizDto {
     Integer id;
     String name;
     Integer score;
+    Date creationDate;
 
     public static QuizDto createFrom(final Quiz quiz){
         return QuizDto.builder()
                 .id(quiz.getId())
                 .name(quiz.getName())
                 .score(quiz.getScore())
+                .creationDate(quiz.getCreationDate())
                 .build();
     }
 }
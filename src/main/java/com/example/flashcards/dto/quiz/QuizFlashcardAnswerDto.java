@@ -0,0 +1,16 @@
+package com.example.flashcards.dto.quiz;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+
+@Value
+@Data
+@Builder
+@RequiredArgsConstructor
+public class QuizFlashcardAnswerDto {
+    Integer flashcardId;
+    String userAnswer;
+    boolean correct;
+}
@@ -1,6 +1,5 @@
 package com.example.flashcards.dto.quiz;
 import com.example.flashcards.dto.flashcard.QuestionDto;
-import com.example.flashcards.model.Flashcard;
 import lombok.Builder;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
@@ -14,10 +13,13 @@ public class QuizFlashcardDto {
     Integer id;
     QuestionDto question;
 
-    public static QuizFlashcardDto createFrom(final Flashcard flashcard){
+    public static QuizFlashcardDto createFrom(final QuizFlashcardRowDto quizFlashcard){
         return QuizFlashcardDto.builder()
-                .id(flashcard.getId())
-                .question(QuestionDto.createFrom(flashcard.getQuestion()))
+                .id(quizFlashcard.getFlashcardId())
+                .question(QuestionDto.builder()
+                        .value(quizFlashcard.getQuestion())
+                        .langCode(quizFlashcard.getQuestionLangCode())
+                        .build())
                 .build();
     }
 
@@ -1,7 +1,6 @@
 package com.example.flashcards.dto.quiz;
 
 import com.example.flashcards.dto.flashcard.QuestionDto;
-import com.example.flashcards.model.QuizFlashcard;
 import lombok.Builder;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
@@ -16,13 +15,18 @@ public class QuizFlashcardResultDto {
     QuestionDto question;
     String correctAnswer;
     String userAnswer;
+    boolean correct;
 
-    public static QuizFlashcardResultDto createFrom(final QuizFlashcard quizFlashcard) {
+    public static QuizFlashcardResultDto createFrom(final QuizFlashcardRowDto quizFlashcard) {
         return QuizFlashcardResultDto.builder()
-                .id(quizFlashcard.getFlashcard().getId())
-                .question(QuestionDto.createFrom(quizFlashcard.getFlashcard().getQuestion()))
-                .correctAnswer(quizFlashcard.getFlashcard().getAnswer().getValue())
+                .id(quizFlashcard.getFlashcardId())
+                .question(QuestionDto.builder()
+                        .value(quizFlashcard.getQuestion())
+                        .langCode(quizFlashcard.getQuestionLangCode())
+                        .build())
+                .correctAnswer(quizFlashcard.getCorrectAnswer())
                 .userAnswer(quizFlashcard.getUserAnswer())
+                .correct(quizFlashcard.isCorrect())
                 .build();
     }
 }
@@ -0,0 +1,19 @@
+package com.example.flashcards.dto.quiz;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+
+@Value
+@Data
+@Builder
+@RequiredArgsConstructor
+public class QuizFlashcardRowDto {
+    Integer flashcardId;
+    String question;
+    String questionLangCode;
+    String correctAnswer;
+    String userAnswer;
+    boolean correct;
+}
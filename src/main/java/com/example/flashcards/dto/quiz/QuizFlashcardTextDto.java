@@ -0,0 +1,17 @@
+package com.example.flashcards.dto.quiz;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+
+@Value
+@Data
+@Builder
+@RequiredArgsConstructor
+public class QuizFlashcardTextDto {
+    Integer flashcardId;
+    String question;
+    String questionLangCode;
+    String correctAnswer;
+}
@@ -1,12 +1,11 @@
 package com.example.flashcards.dto.quiz;
 
-import com.example.flashcards.model.Quiz;
-import com.example.flashcards.model.QuizFlashcard;
 import lombok.Builder;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.Value;
 
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -16,11 +15,17 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class QuizResultDto {
     QuizDto quizData;
+    Integer flashcardsCount;
+    Integer answeredCount;
+    Integer correctCount;
     Set<QuizFlashcardResultDto> flashcards;
 
-    public static QuizResultDto createFrom(final Quiz quiz, final Set<QuizFlashcard> flashcards) {
+    public static QuizResultDto createFrom(final QuizRowDto quiz, final List<QuizFlashcardRowDto> flashcards) {
         return QuizResultDto.builder()
-                .quizData(QuizDto.createFrom(quiz))
+                .quizData(quiz.toQuizDto())
+                .flashcardsCount(quiz.getFlashcardsCount())
+                .answeredCount(quiz.getAnsweredCount())
+                .correctCount(quiz.getCorrectCount())
                 .flashcards(flashcards.stream().map(QuizFlashcardResultDto::createFrom).collect(Collectors.toSet()))
                 .build();
     }
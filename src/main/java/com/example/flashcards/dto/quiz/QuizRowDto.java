@@ -0,0 +1,32 @@
+package com.example.flashcards.dto.quiz;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+
+import java.util.Date;
+
+@Value
+@Data
+@Builder
+@RequiredArgsConstructor
+public class QuizRowDto {
+    Integer id;
+    String name;
+    Integer score;
+    Date creationDate;
+    Integer flashcardsCount;
+    Integer answeredCount;
+    Integer correctCount;
+    long flashcardsVersion;
+
+    public QuizDto toQuizDto() {
+        return QuizDto.builder()
+                .id(id)
+                .name(name)
+                .score(score)
+                .creationDate(creationDate)
+                .build();
+    }
+}
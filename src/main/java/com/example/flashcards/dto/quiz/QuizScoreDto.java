@@ -0,0 +1,20 @@
+package com.example.flashcards.dto.quiz;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+
+@Value
+@Data
+@Builder
+@RequiredArgsConstructor
+public class QuizScoreDto {
+    Long total;
+    Long answered;
+    Long correct;
+
+    public int toPercent() {
+        return total == 0 ? 0 : (int) (correct * 100 / total);
+    }
+}
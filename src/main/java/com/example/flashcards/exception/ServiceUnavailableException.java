@@ -0,0 +1,6 @@
+package com.example.flashcards.exception;
+
+public class ServiceUnavailableException extends RuntimeException {
+
+    public ServiceUnavailableException(final String message) {super(message);}
+}
@@ -1,6 +1,8 @@
 package com.example.flashcards.model;
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotBlank;
@@ -13,6 +15,8 @@ import java.io.Serializable;
 @Getter
 @Setter
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "answer")
 @Table(name = "answer")
 public class Answer implements Serializable {
     @Id
@@ -24,6 +28,9 @@ public class Answer implements Serializable {
     @NotNull
     private String value;
 
+    @Column(name = "normalized_value")
+    private String normalizedValue;
+
     @OneToOne(mappedBy = "answer")
     private Flashcard flashcard;
 
@@ -13,19 +13,60 @@ import java.util.Set;
 @Getter
 @Setter
 @Entity
-@Table(name = "flashcard")
+@Table(name = "flashcard", indexes = {
+        @Index(name = "flashcard_users_next_due_idx", columnList = "users, next_due, id"),
+        @Index(name = "flashcard_users_creation_date_idx", columnList = "users, creation_date, id"),
+        @Index(name = "flashcard_users_question_hash_idx", columnList = "users, question_hash", unique = true),
+        @Index(name = "flashcard_users_languages_idx",
+                columnList = "users, question_lang_code, answer_lang_code, creation_date, id"),
+        @Index(name = "flashcard_users_question_sort_key_idx", columnList = "users, question_sort_key, id"),
+        @Index(name = "flashcard_users_languages_question_sort_key_idx",
+                columnList = "users, question_lang_code, answer_lang_code, question_sort_key, id")})
 public class Flashcard implements Serializable {
+
+    // The sequence @GeneratedValue defaulted to, shared with quizzes and languages; bulk inserts draw from it directly.
+    public static final String ID_SEQUENCE = "hibernate_sequence";
+
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "flashcard_id")
+    @SequenceGenerator(name = "flashcard_id", sequenceName = ID_SEQUENCE, allocationSize = 1)
     @Column(unique = true)
     private Integer id;
 
-    @Column(name = "is_used", nullable = false)
-    private boolean isUsed;
+    @Column(name = "usage_count", nullable = false, columnDefinition = "integer default 0")
+    private int usageCount;
 
     @Column(name = "creation_date", nullable = false)
     private Date creationDate;
 
+    @Column(name = "question_hash")
+    private Long questionHash;
+
+    // Copies of the question and answer language codes and the normalized question, so listings filter and
+    // order on flashcard columns alone.
+    @Column(name = "question_sort_key")
+    private String questionSortKey;
+
+    @Column(name = "question_lang_code", length = 3)
+    private String questionLangCode;
+
+    @Column(name = "answer_lang_code", length = 3)
+    private String answerLangCode;
+
+    @Builder.Default
+    @Column(name = "ease_factor", nullable = false, columnDefinition = "double precision default 2.5")
+    private double easeFactor = 2.5;
+
+    @Column(name = "review_interval", nullable = false, columnDefinition = "integer default 0")
+    private int reviewInterval;
+
+    @Column(name = "repetitions", nullable = false, columnDefinition = "integer default 0")
+    private int repetitions;
+
+    @Builder.Default
+    @Column(name = "next_due", nullable = false, columnDefinition = "timestamp default current_timestamp")
+    private Date nextDue = new Date();
+
     @OneToOne(cascade = CascadeType.ALL, orphanRemoval = true)
     @JoinColumn(name = "question", referencedColumnName = "id")
     private Question question;
@@ -35,9 +76,13 @@ public class Flashcard implements Serializable {
     private Answer answer;
 
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "users", referencedColumnName = "username")
+    @JoinColumn(name = "users", referencedColumnName = "username", insertable = false, updatable = false)
     private User user;
 
+    // Written directly, so creating a row for the authenticated user does not load the user.
+    @Column(name = "users")
+    private String username;
+
     @OneToMany(mappedBy = "flashcard", fetch = FetchType.LAZY, orphanRemoval = true)
     private Set<QuizFlashcard> quizFlashcards;
 }
@@ -6,6 +6,7 @@ import javax.persistence.*;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 import java.io.Serializable;
+import java.util.Date;
 import java.util.List;
 import java.util.Set;
 
@@ -15,7 +16,7 @@ import java.util.Set;
 @Getter
 @Setter
 @Entity
-@Table(name = "quiz")
+@Table(name = "quiz", indexes = @Index(name = "quiz_users_creation_date_idx", columnList = "users, creation_date, id"))
 public class Quiz implements Serializable {
     @Id
     @GeneratedValue
@@ -28,10 +29,36 @@ public class Quiz implements Serializable {
 
     private Integer score;
 
+    @Column(name = "creation_date", nullable = false, columnDefinition = "timestamp default current_timestamp")
+    private Date creationDate;
+
+    @Column(name = "flashcards_count", nullable = false, columnDefinition = "integer default 0")
+    private int flashcardsCount;
+
+    @Column(name = "answered_count", nullable = false, columnDefinition = "integer default 0")
+    private int answeredCount;
+
+    @Column(name = "correct_count", nullable = false, columnDefinition = "integer default 0")
+    private int correctCount;
+
+    // Bumped by every change to the quiz or its flashcards, only ever through bulk updates.
+    @Column(name = "data_version", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "bigint default 0")
+    private long dataVersion;
+
+    // Bumped when the texts shown for the quiz's flashcards change, keying their cached copy in QuizFlashcardsCache.
+    @Column(name = "flashcards_version", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "bigint default 0")
+    private long flashcardsVersion;
+
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "users", referencedColumnName = "username")
+    @JoinColumn(name = "users", referencedColumnName = "username", insertable = false, updatable = false)
     private User user;
 
+    // Written directly, so creating a row for the authenticated user does not load the user.
+    @Column(name = "users")
+    private String username;
+
     @OneToMany(mappedBy = "quiz", fetch = FetchType.LAZY, orphanRemoval = true)
     private Set<QuizFlashcard> quizFlashcards;
 
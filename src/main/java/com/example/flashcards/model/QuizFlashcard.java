@@ -29,5 +29,8 @@ public class QuizFlashcard implements Serializable {
 
     @Column(name = "user_answer")
     private String userAnswer;
+
+    @Column(name = "correct", nullable = false, columnDefinition = "boolean default false")
+    private boolean correct;
 }
 
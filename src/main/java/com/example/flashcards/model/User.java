@@ -41,6 +41,11 @@ public class User implements Serializable {
     @Column(name = "role")
     private String role;
 
+    // Bumped by every change to the user's flashcards or quizzes, only ever through bulk updates.
+    @Column(name = "data_version", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "bigint default 0")
+    private long dataVersion;
+
     @OneToMany(mappedBy = "user", fetch = FetchType.LAZY, orphanRemoval = true)
     private Set<Flashcard> flashcards;
 
@@ -0,0 +1,17 @@
+package com.example.flashcards.model.jwt;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+/**
+ * Principal of token authenticated requests. Holds the username and authorities but no password hash, so it can be
+ * cached in memory between requests.
+ */
+public class AuthenticatedUser extends User {
+
+    public AuthenticatedUser(final String username, final Collection<? extends GrantedAuthority> authorities) {
+        super(username, "", authorities);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.flashcards.model.jwt;
+
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * Claims of a token whose signature has already been checked.
+ */
+@Value
+public class VerifiedToken {
+    String username;
+    // null for tokens issued before the role claim was added
+    String role;
+    Instant expiration;
+
+    public boolean isExpired(final Instant now) {
+        return expiration.isBefore(now);
+    }
+}
@@ -2,5 +2,13 @@ package com.example.flashcards.repository;
 
 import com.example.flashcards.model.Answer;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface AnswerRepository extends JpaRepository<Answer, Integer> {}
+public interface AnswerRepository extends JpaRepository<Answer, Integer> {
+
+    @Modifying
+    @Query(value = "DELETE FROM Answer a WHERE a.id = :id")
+    void deleteAnswerById(@Param("id") final Integer id);
+}
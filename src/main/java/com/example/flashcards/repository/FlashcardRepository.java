@@ -1,58 +1,98 @@
 package com.example.flashcards.repository;
 
+import com.example.flashcards.dto.flashcard.DueFlashcardDto;
+import com.example.flashcards.dto.flashcard.FlashcardPartsDto;
+import com.example.flashcards.dto.flashcard.FlashcardQuestionDto;
+import com.example.flashcards.dto.flashcard.FlashcardRowDto;
 import com.example.flashcards.model.Flashcard;
-import com.example.flashcards.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
 
-public interface FlashcardRepository extends JpaRepository<Flashcard, Integer> {
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
-    List<Flashcard> findAllByUser(final User user);
+public interface FlashcardRepository extends JpaRepository<Flashcard, Integer>, FlashcardRepositoryCustom {
 
     Optional<Flashcard> findByUserUsernameAndQuestionValue (final String username, final String questionValue);
 
-    List<Flashcard> findAllByQuestionLanguageLangCode(final String langCode);
+    @Query(value = "SELECT f.questionHash FROM Flashcard f WHERE f.username = :username AND f.questionHash IS NOT NULL")
+    Set<Long> findQuestionHashesByUsername(@Param("username") final String username);
 
-    List<Flashcard> findAllByAnswerLanguageLangCode(final String langCode);
+    boolean existsByUsernameAndQuestionHash(final String username, final Long questionHash);
 
-    List<Flashcard> findAllByUserAndQuestionLanguageLangCodeAndAnswerLanguageLangCode(final User user,
-                                                                                      final String questionLangCode,
-                                                                                      final String answerLangCode);
+    boolean existsByUsernameAndQuestionHashAndIdNot(final String username, final Long questionHash, final Integer id);
 
-    List<Flashcard> findAllByUserAndQuestionLanguageLangCode(final User user, final String questionLangCode);
+    @Query(value = "SELECT new com.example.flashcards.dto.flashcard.FlashcardQuestionDto(f.id, f.username, q.value, " +
+            "ql.langCode) FROM Flashcard f JOIN f.question q JOIN q.language ql " +
+            "WHERE f.questionHash IS NULL AND f.id > :afterId ORDER BY f.id")
+    List<FlashcardQuestionDto> findWithoutQuestionHash(@Param("afterId") final Integer afterId, final Pageable pageable);
 
-    List<Flashcard> findAllByUserAndAnswerLanguageLangCode(final User user, final String answerLangCode);
+    @Query(value = "SELECT new com.example.flashcards.dto.flashcard.FlashcardQuestionDto(f.id, f.username, q.value, " +
+            "ql.langCode) FROM Flashcard f JOIN f.question q JOIN q.language ql " +
+            "WHERE f.questionSortKey IS NULL AND f.id > :afterId ORDER BY f.id")
+    List<FlashcardQuestionDto> findWithoutQuestionSortKey(@Param("afterId") final Integer afterId, final Pageable pageable);
 
-    @Query(value = "select f from Flashcard  f JOIN QuizFlashcard qf ON f.id = qf.flashcard.id where qf.quiz.id=:id")
-    Set<Flashcard> findAllByQuizId(final Integer id);
+    @Query(value = "SELECT new com.example.flashcards.dto.flashcard.FlashcardRowDto(f.id, q.value, ql.langCode, " +
+            "a.value, al.langCode, f.creationDate, f.questionSortKey) FROM Flashcard f JOIN f.question q " +
+            "JOIN q.language ql JOIN f.answer a JOIN a.language al WHERE f.id = :id AND f.username = :username")
+    Optional<FlashcardRowDto> findRowByIdAndUsername(@Param("id") final Integer id,
+                                                     @Param("username") final String username);
 
-    @Query(value = "SELECT f FROM Flashcard f WHERE f.user=:user AND f.question.value LIKE %:query%")
-    List<Flashcard> findAllByUserAndQuestionContaining(@Param("user") final User user,
-                                                       @Param("query") final String query);
+    // Same single join as findById, a plain query would load the question and answer one by one.
+    @Query(value = "SELECT f FROM Flashcard f JOIN FETCH f.question q JOIN FETCH q.language " +
+            "JOIN FETCH f.answer a JOIN FETCH a.language WHERE f.id = :id AND f.username = :username")
+    Optional<Flashcard> findByIdAndUsername(@Param("id") final Integer id, @Param("username") final String username);
 
-    @Query(value = "SELECT f FROM Flashcard f WHERE f.user=:user AND f.question.value LIKE %:query% AND f.question" +
-            ".language.langCode=:questionLangCode AND f.answer.language.langCode=:answerLangCode")
-    List<Flashcard> findAllByUserAndQuestionLangCodeAndAnswerLangCodeAndQuestionContaining(
-            @Param("user") final User user, @Param("query") final String query,
-            @Param("questionLangCode") final String questionLangCode,
-            @Param("answerLangCode") final String answerLangCode);
+    boolean existsByIdAndUsername(final Integer id, final String username);
 
-    @Query(value = "SELECT f FROM Flashcard f WHERE f.user=:user AND f.question.value LIKE %:query% AND f.question" +
-                   ".language.langCode=:questionLangCode")
-    List<Flashcard> findAllByUserAndQuestionLangCodeAndQuestionContaining(@Param("user") final User user,
-                                                                          @Param("query") final String query,
-                                                                          @Param("questionLangCode")
-                                                                          final String questionLangCode);
+    @Query(value = "SELECT new com.example.flashcards.dto.flashcard.FlashcardPartsDto(f.question.id, f.answer.id) " +
+            "FROM Flashcard f WHERE f.id = :id AND f.username = :username")
+    Optional<FlashcardPartsDto> findPartsByIdAndUsername(@Param("id") final Integer id,
+                                                         @Param("username") final String username);
 
-    @Query(value = "SELECT f FROM Flashcard f WHERE f.user=:user AND f.question.value LIKE %:query% AND f.answer.language.langCode=:answerLangCode")
-    List<Flashcard> findAllByUserAndAnswerLangCodeAndQuestionContaining(@Param("user") final User user,
-                                                                        @Param("query") final String query,
-                                                                        @Param("answerLangCode")
-                                                                        final String answerLangCode);
+    // Checks the usage count in the same statement, so a quiz taking the flashcard meanwhile makes it delete nothing.
+    @Modifying
+    @Query(value = "DELETE FROM Flashcard f WHERE f.id = :id AND f.username = :username AND f.usageCount = 0")
+    int deleteUnusedByIdAndUsername(@Param("id") final Integer id, @Param("username") final String username);
 
+    boolean existsByQuestionLanguageLangCode(final String langCode);
+
+    boolean existsByAnswerLanguageLangCode(final String langCode);
+
+    @Query(value = "SELECT f.id FROM Flashcard f WHERE f.id IN :ids AND f.username = :username")
+    Set<Integer> findIdsByIdInAndUsername(@Param("ids") final Collection<Integer> ids,
+                                          @Param("username") final String username);
+
+    @Modifying
+    @Query(value = "UPDATE Flashcard f SET f.usageCount = f.usageCount + :delta WHERE f.id IN :ids")
+    void adjustUsageCount(@Param("ids") final Collection<Integer> ids, @Param("delta") final int delta);
+
+    @Modifying
+    @Query(value = "UPDATE Flashcard f SET f.usageCount = f.usageCount - 1 WHERE f.username = :username AND f.id IN " +
+            "(SELECT qf.id.flashcardId FROM QuizFlashcard qf WHERE qf.id.quizId = :quizId)")
+    void releaseByQuizIdAndUsername(@Param("quizId") final Integer quizId, @Param("username") final String username);
+
+    @Query(value = "SELECT new com.example.flashcards.dto.flashcard.DueFlashcardDto(f.id, q.value, ql.langCode, " +
+            "a.value, al.langCode, f.nextDue) FROM Flashcard f JOIN f.question q JOIN q.language ql " +
+            "JOIN f.answer a JOIN a.language al WHERE f.username = :username AND f.nextDue <= :now " +
+            "ORDER BY f.nextDue, f.id")
+    List<DueFlashcardDto> findDueByUsername(@Param("username") final String username, @Param("now") final Date now,
+                                            final Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query(value = "SELECT new com.example.flashcards.dto.flashcard.FlashcardRowDto(f.id, q.value, ql.langCode, " +
+            "a.value, al.langCode, f.creationDate, f.questionSortKey) FROM Flashcard f JOIN f.question q " +
+            "JOIN q.language ql JOIN f.answer a JOIN a.language al WHERE f.username = :username ORDER BY f.creationDate, f.id")
+    Stream<FlashcardRowDto> streamByUsername(@Param("username") final String username);
 }
@@ -0,0 +1,24 @@
+package com.example.flashcards.repository;
+
+import com.example.flashcards.dto.flashcard.FlashcardQuery;
+import com.example.flashcards.dto.flashcard.FlashcardQuestionDto;
+import com.example.flashcards.dto.flashcard.FlashcardRowDto;
+import com.example.flashcards.dto.flashcard.FlashcardScheduleDto;
+import com.example.flashcards.dto.flashcard.NewFlashcardDto;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface FlashcardRepositoryCustom {
+
+    void updateSchedules(final Collection<FlashcardScheduleDto> schedules);
+
+    void insertAll(final String username, final List<NewFlashcardDto> flashcards);
+
+    int updateQuestionHashes(final Map<FlashcardQuestionDto, Long> questionHashes);
+
+    void updateQuestionSortKeys(final Map<Integer, String> questionSortKeys);
+
+    List<FlashcardRowDto> findPage(final FlashcardQuery query);
+}
@@ -0,0 +1,218 @@
+package com.example.flashcards.repository;
+
+import com.example.flashcards.dto.flashcard.*;
+import com.example.flashcards.model.Answer;
+import com.example.flashcards.model.Flashcard;
+import com.example.flashcards.model.Language;
+import com.example.flashcards.model.Question;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.*;
+import java.sql.*;
+import java.util.*;
+
+@RequiredArgsConstructor
+public class FlashcardRepositoryImpl implements FlashcardRepositoryCustom {
+
+    private static final int BATCH_SIZE = 500;
+    private static final String UPDATE_SCHEDULE =
+            "UPDATE flashcard SET ease_factor = ?, review_interval = ?, repetitions = ?, next_due = ? WHERE id = ?";
+
+    private static final String INSERT_QUESTION = "INSERT INTO question (value, lang_code) VALUES (?, ?)";
+    private static final String INSERT_ANSWER =
+            "INSERT INTO answer (value, normalized_value, lang_code) VALUES (?, ?, ?)";
+    private static final String INSERT_FLASHCARD = "INSERT INTO flashcard (id, question, answer, users, creation_date, " +
+            "question_hash, question_sort_key, question_lang_code, answer_lang_code) " +
+            "VALUES (nextval('" + Flashcard.ID_SEQUENCE + "'), ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_QUESTION_HASH = "UPDATE flashcard SET question_hash = ? WHERE id = ? " +
+            "AND NOT EXISTS (SELECT 1 FROM flashcard duplicate WHERE duplicate.users = ? AND duplicate.question_hash = ?)";
+    private static final String UPDATE_QUESTION_SORT_KEY = "UPDATE flashcard SET question_sort_key = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    @Override
+    public void updateSchedules(final Collection<FlashcardScheduleDto> schedules) {
+        jdbcTemplate.batchUpdate(UPDATE_SCHEDULE, schedules, BATCH_SIZE, (ps, schedule) -> {
+            ps.setDouble(1, schedule.getEaseFactor());
+            ps.setInt(2, schedule.getReviewInterval());
+            ps.setInt(3, schedule.getRepetitions());
+            ps.setTimestamp(4, new Timestamp(schedule.getNextDue().getTime()));
+            ps.setInt(5, schedule.getFlashcardId());
+        });
+    }
+
+    @Override
+    public int updateQuestionHashes(final Map<FlashcardQuestionDto, Long> questionHashes) {
+        final int[][] updateCounts = jdbcTemplate.batchUpdate(UPDATE_QUESTION_HASH, questionHashes.entrySet(), BATCH_SIZE,
+                (ps, questionHash) -> {
+                    ps.setLong(1, questionHash.getValue());
+                    ps.setInt(2, questionHash.getKey().getId());
+                    ps.setString(3, questionHash.getKey().getUsername());
+                    ps.setLong(4, questionHash.getValue());
+                });
+
+        return (int) Arrays.stream(updateCounts).flatMapToInt(Arrays::stream)
+                .filter(count -> count > 0 || count == Statement.SUCCESS_NO_INFO).count();
+    }
+
+    @Override
+    public void updateQuestionSortKeys(final Map<Integer, String> questionSortKeys) {
+        jdbcTemplate.batchUpdate(UPDATE_QUESTION_SORT_KEY, questionSortKeys.entrySet(), BATCH_SIZE, (ps, sortKey) -> {
+            ps.setString(1, sortKey.getValue());
+            ps.setInt(2, sortKey.getKey());
+        });
+    }
+
+    // Filters and ordering use the denormalized flashcard columns only, so the (users, ...) indexes drive the scan
+    // and the joins merely fetch the texts of the rows on the page.
+    @Override
+    public List<FlashcardRowDto> findPage(final FlashcardQuery query) {
+        final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<FlashcardRowDto> criteria = cb.createQuery(FlashcardRowDto.class);
+        final Root<Flashcard> flashcard = criteria.from(Flashcard.class);
+        final Join<Flashcard, Question> question = flashcard.join("question");
+        final Join<Question, Language> questionLanguage = question.join("language");
+        final Join<Flashcard, Answer> answer = flashcard.join("answer");
+        final Join<Answer, Language> answerLanguage = answer.join("language");
+        criteria.select(cb.construct(FlashcardRowDto.class, flashcard.get("id"), question.get("value"),
+                questionLanguage.get("langCode"), answer.get("value"), answerLanguage.get("langCode"),
+                flashcard.get("creationDate"), flashcard.get("questionSortKey")));
+
+        final List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(flashcard.get("username"), query.getUsername()));
+        if (query.getQuestionLangCode() != null) {
+            predicates.add(cb.equal(flashcard.get("questionLangCode"), query.getQuestionLangCode()));
+        }
+        if (query.getAnswerLangCode() != null) {
+            predicates.add(cb.equal(flashcard.get("answerLangCode"), query.getAnswerLangCode()));
+        }
+        if (query.getQuestionSortKeyPrefix() != null) {
+            // The lower bound positions the index scan, LIKE keeps it exact under any collation.
+            final Path<String> sortKey = flashcard.get("questionSortKey");
+            predicates.add(cb.greaterThanOrEqualTo(sortKey, query.getQuestionSortKeyPrefix()));
+            predicates.add(cb.like(sortKey, escapeLike(query.getQuestionSortKeyPrefix()) + "%", '\\'));
+        }
+
+        final List<Expression<?>> keys = sortKeys(flashcard, query.getOrder());
+        if (query.getAfter() != null) {
+            predicates.add(after(cb, keys, cursorValues(query.getAfter(), query.getOrder()), query.isDescending()));
+        }
+        criteria.where(predicates.toArray(new Predicate[0]));
+
+        final List<Order> orders = new ArrayList<>();
+        for (final Expression<?> key : keys) {
+            orders.add(query.isDescending() ? cb.desc(key) : cb.asc(key));
+        }
+        criteria.orderBy(orders);
+
+        return entityManager.createQuery(criteria).setMaxResults(query.getLimit()).getResultList();
+    }
+
+    private static List<Expression<?>> sortKeys(final Root<Flashcard> flashcard, final FlashcardOrder order) {
+        switch (order) {
+            case QUESTION:
+                return List.of(flashcard.get("questionSortKey"), flashcard.get("id"));
+            case LANGUAGE:
+                return List.of(flashcard.get("questionLangCode"), flashcard.get("answerLangCode"),
+                        flashcard.get("creationDate"), flashcard.get("id"));
+            default:
+                return List.of(flashcard.get("creationDate"), flashcard.get("id"));
+        }
+    }
+
+    private static List<Comparable<?>> cursorValues(final FlashcardCursor cursor, final FlashcardOrder order) {
+        switch (order) {
+            case QUESTION:
+                return Arrays.asList(cursor.getQuestionSortKey(), cursor.getId());
+            case LANGUAGE:
+                return Arrays.asList(cursor.getQuestionLangCode(), cursor.getAnswerLangCode(), cursor.getCreationDate(),
+                        cursor.getId());
+            default:
+                return Arrays.asList(cursor.getCreationDate(), cursor.getId());
+        }
+    }
+
+    // (k1, k2, ...) > (v1, v2, ...) spelled as k1 >= v1 AND (k1 > v1 OR (k1 = v1 AND ...)), the leading range
+    // starting an index range scan.
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate after(final CriteriaBuilder cb, final List<Expression<?>> keys,
+                                   final List<Comparable<?>> values, final boolean descending) {
+        Predicate tail = null;
+        for (int i = keys.size() - 1; i >= 0; i--) {
+            final Expression key = keys.get(i);
+            final Comparable value = values.get(i);
+            final Predicate beyond = descending ? cb.lessThan(key, value) : cb.greaterThan(key, value);
+            tail = tail == null ? beyond : cb.or(beyond, cb.and(cb.equal(key, value), tail));
+        }
+        final Expression first = keys.get(0);
+        final Comparable firstValue = values.get(0);
+        return cb.and(descending ? cb.lessThanOrEqualTo(first, firstValue) : cb.greaterThanOrEqualTo(first, firstValue), tail);
+    }
+
+    private static String escapeLike(final String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    // Questions and answers use identity ids, which come back as generated keys of their batches.
+    @Override
+    public void insertAll(final String username, final List<NewFlashcardDto> flashcards) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            for (int from = 0; from < flashcards.size(); from += BATCH_SIZE) {
+                final List<NewFlashcardDto> batch = flashcards.subList(from, Math.min(from + BATCH_SIZE, flashcards.size()));
+                final int[] questionsIds = insertReturningIds(connection, INSERT_QUESTION, batch, (ps, flashcard) -> {
+                    ps.setString(1, flashcard.getQuestion());
+                    ps.setInt(2, flashcard.getQuestionLanguageId());
+                });
+                final int[] answersIds = insertReturningIds(connection, INSERT_ANSWER, batch, (ps, flashcard) -> {
+                    ps.setString(1, flashcard.getAnswer());
+                    ps.setString(2, flashcard.getNormalizedAnswer());
+                    ps.setInt(3, flashcard.getAnswerLanguageId());
+                });
+
+                final Timestamp creationDate = new Timestamp(System.currentTimeMillis());
+                try (PreparedStatement ps = connection.prepareStatement(INSERT_FLASHCARD)) {
+                    for (int i = 0; i < batch.size(); i++) {
+                        ps.setInt(1, questionsIds[i]);
+                        ps.setInt(2, answersIds[i]);
+                        ps.setString(3, username);
+                        ps.setTimestamp(4, creationDate);
+                        ps.setLong(5, batch.get(i).getQuestionHash());
+                        ps.setString(6, batch.get(i).getQuestionSortKey());
+                        ps.setString(7, batch.get(i).getQuestionLangCode());
+                        ps.setString(8, batch.get(i).getAnswerLangCode());
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+                }
+            }
+            return null;
+        });
+    }
+
+    private int[] insertReturningIds(final Connection connection, final String sql, final List<NewFlashcardDto> batch,
+                                     final ParameterizedPreparedStatementSetter<NewFlashcardDto> setter) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(sql, new String[]{"id"})) {
+            for (final NewFlashcardDto flashcard : batch) {
+                setter.setValues(ps, flashcard);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+
+            final int[] ids = new int[batch.size()];
+            try (ResultSet keys = ps.getGeneratedKeys()) {
+                for (int i = 0; i < ids.length; i++) {
+                    if (!keys.next()) {
+                        throw new SQLException("Missing generated key for row " + i);
+                    }
+                    ids[i] = keys.getInt(1);
+                }
+            }
+            return ids;
+        }
+    }
+}
@@ -2,7 +2,13 @@ package com.example.flashcards.repository;
 
 import com.example.flashcards.model.Question;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface QuestionRepository extends JpaRepository<Question, Integer> {
 
+    @Modifying
+    @Query(value = "DELETE FROM Question q WHERE q.id = :id")
+    void deleteQuestionById(@Param("id") final Integer id);
 }
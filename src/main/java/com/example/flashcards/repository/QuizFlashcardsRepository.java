@@ -1,23 +1,91 @@
 package com.example.flashcards.repository;
 
+import com.example.flashcards.dto.quiz.QuizAnswerStateDto;
+import com.example.flashcards.dto.quiz.QuizFlashcardAnswerDto;
+import com.example.flashcards.dto.quiz.QuizFlashcardTextDto;
+import com.example.flashcards.dto.quiz.QuizScoreDto;
+import com.example.flashcards.dto.quiz.QuizUserAnswerDto;
 import com.example.flashcards.model.QuizFlashcard;
 import com.example.flashcards.model.QuizFlashcardsKey;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
-public interface QuizFlashcardsRepository extends CrudRepository<QuizFlashcard, QuizFlashcardsKey> {
+public interface QuizFlashcardsRepository extends CrudRepository<QuizFlashcard, QuizFlashcardsKey>,
+        QuizFlashcardsRepositoryCustom {
 
-    Set<QuizFlashcard> findByQuizId(final Integer id);
+    @Query(value = "SELECT new com.example.flashcards.dto.quiz.QuizFlashcardTextDto(f.id, q.value, ql.langCode, " +
+            "a.value) FROM QuizFlashcard qf JOIN qf.flashcard f JOIN f.question q JOIN q.language ql JOIN f.answer a " +
+            "WHERE qf.id.quizId = :quizId")
+    List<QuizFlashcardTextDto> findTextsByQuizId(@Param("quizId") final Integer quizId);
+
+    @Query(value = "SELECT new com.example.flashcards.dto.quiz.QuizFlashcardAnswerDto(qf.id.flashcardId, qf.userAnswer, " +
+            "qf.correct) FROM QuizFlashcard qf WHERE qf.id.quizId = :quizId")
+    List<QuizFlashcardAnswerDto> findAnswersByQuizId(@Param("quizId") final Integer quizId);
+
+    @Query(value = "SELECT qf.id.quizId FROM QuizFlashcard qf WHERE qf.id.flashcardId = :flashcardId")
+    List<Integer> findQuizIdsByFlashcardId(@Param("flashcardId") final Integer flashcardId);
+
+    @Query(value = "SELECT new com.example.flashcards.dto.quiz.QuizScoreDto(COUNT(qf), COUNT(qf.userAnswer), " +
+            "COALESCE(SUM(CASE WHEN qf.correct = true THEN 1 ELSE 0 END), 0)) " +
+            "FROM QuizFlashcard qf WHERE qf.id.quizId = :quizId")
+    QuizScoreDto calculateScore(@Param("quizId") final Integer quizId);
 
     @Query(value = "SELECT f.id FROM QuizFlashcard qf JOIN Flashcard f ON qf.flashcard = f WHERE qf.quiz.id = :id")
     Set<Integer> findFlashcardsIdByQuizId(final Integer id);
 
     Optional<QuizFlashcard> findByQuizIdAndFlashcardId(final Integer quizId, final Integer flashcardId);
 
-    Set<QuizFlashcard> findByFlashcardId(final int id);
+    @Query(value = "SELECT new com.example.flashcards.dto.quiz.QuizAnswerStateDto(f.id, a.value, a.normalizedValue, " +
+            "l.langCode, qf.userAnswer, qf.correct, f.easeFactor, f.reviewInterval, f.repetitions) " +
+            "FROM QuizFlashcard qf JOIN qf.flashcard f JOIN f.answer a JOIN a.language l WHERE qf.id.quizId = :quizId")
+    List<QuizAnswerStateDto> findAnswerStatesByQuizId(@Param("quizId") final Integer quizId);
+
+    @Query(value = "SELECT new com.example.flashcards.dto.quiz.QuizAnswerStateDto(f.id, a.value, a.normalizedValue, " +
+            "l.langCode, qf.userAnswer, qf.correct, f.easeFactor, f.reviewInterval, f.repetitions) " +
+            "FROM QuizFlashcard qf JOIN qf.quiz qz JOIN qf.flashcard f JOIN f.answer a JOIN a.language l " +
+            "WHERE qf.id.quizId = :quizId AND qf.id.flashcardId = :flashcardId AND qz.username = :username")
+    Optional<QuizAnswerStateDto> findAnswerState(@Param("quizId") final Integer quizId,
+                                                 @Param("flashcardId") final Integer flashcardId,
+                                                 @Param("username") final String username);
+
+    @Modifying
+    @Query(value = "UPDATE QuizFlashcard qf SET qf.userAnswer = :userAnswer, qf.correct = :correct " +
+            "WHERE qf.id.quizId = :quizId AND qf.id.flashcardId = :flashcardId " +
+            "AND (qf.userAnswer = :previousUserAnswer OR (:previousUserAnswer IS NULL AND qf.userAnswer IS NULL))")
+    int replaceUserAnswer(@Param("quizId") final Integer quizId, @Param("flashcardId") final Integer flashcardId,
+                          @Param("previousUserAnswer") final String previousUserAnswer,
+                          @Param("userAnswer") final String userAnswer, @Param("correct") final boolean correct);
+
+    @Query(value = "SELECT new com.example.flashcards.dto.quiz.QuizUserAnswerDto(qf.id.quizId, qf.userAnswer, qf.correct) " +
+            "FROM QuizFlashcard qf WHERE qf.id.flashcardId = :flashcardId AND qf.userAnswer IS NOT NULL")
+    List<QuizUserAnswerDto> findUserAnswersByFlashcardId(@Param("flashcardId") final Integer flashcardId);
+
+    @Modifying
+    @Query(value = "UPDATE QuizFlashcard qf SET qf.correct = :correct " +
+            "WHERE qf.id.flashcardId = :flashcardId AND qf.id.quizId IN :quizzesIds")
+    void updateCorrect(@Param("flashcardId") final Integer flashcardId,
+                       @Param("quizzesIds") final Collection<Integer> quizzesIds, @Param("correct") final boolean correct);
+
+    @Modifying
+    @Query(value = "UPDATE QuizFlashcard qf SET qf.userAnswer = NULL, qf.correct = false WHERE qf.id.quizId = :quizId")
+    void clearUserAnswers(@Param("quizId") final Integer quizId);
 
     void deleteById(final QuizFlashcardsKey key);
+
+    @Modifying
+    @Query(value = "DELETE FROM QuizFlashcard qf WHERE qf.id.quizId = :quizId AND qf.id.flashcardId IN :flashcardsIds")
+    void deleteByQuizIdAndFlashcardIdIn(@Param("quizId") final Integer quizId,
+                                        @Param("flashcardsIds") final Collection<Integer> flashcardsIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM QuizFlashcard qf WHERE qf.id.quizId IN " +
+            "(SELECT q.id FROM Quiz q WHERE q.id = :quizId AND q.username = :username)")
+    void deleteByQuizIdAndUsername(@Param("quizId") final Integer quizId, @Param("username") final String username);
 }
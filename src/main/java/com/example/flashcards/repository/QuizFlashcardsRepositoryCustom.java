@@ -0,0 +1,13 @@
+package com.example.flashcards.repository;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+public interface QuizFlashcardsRepositoryCustom {
+
+    void insertAll(final Integer quizId, final Collection<Integer> flashcardsIds);
+
+    int updateUserAnswers(final Integer quizId, final Map<Integer, String> userAnswers,
+                          final Set<Integer> correctFlashcardsIds);
+}
@@ -0,0 +1,44 @@
+package com.example.flashcards.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+@RequiredArgsConstructor
+public class QuizFlashcardsRepositoryImpl implements QuizFlashcardsRepositoryCustom {
+
+    private static final int BATCH_SIZE = 500;
+    private static final String INSERT_QUIZ_FLASHCARD = "INSERT INTO quiz_flashcard (quiz_id, flashcard_id) VALUES (?, ?)";
+    private static final String UPDATE_USER_ANSWER =
+            "UPDATE quiz_flashcard SET user_answer = ?, correct = ? WHERE quiz_id = ? AND flashcard_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAll(final Integer quizId, final Collection<Integer> flashcardsIds) {
+        jdbcTemplate.batchUpdate(INSERT_QUIZ_FLASHCARD, flashcardsIds, BATCH_SIZE, (ps, flashcardId) -> {
+            ps.setInt(1, quizId);
+            ps.setInt(2, flashcardId);
+        });
+    }
+
+    @Override
+    public int updateUserAnswers(final Integer quizId, final Map<Integer, String> userAnswers,
+                                 final Set<Integer> correctFlashcardsIds) {
+        final int[][] updateCounts = jdbcTemplate.batchUpdate(UPDATE_USER_ANSWER, userAnswers.entrySet(), BATCH_SIZE,
+                (ps, userAnswer) -> {
+                    ps.setString(1, userAnswer.getValue());
+                    ps.setBoolean(2, correctFlashcardsIds.contains(userAnswer.getKey()));
+                    ps.setInt(3, quizId);
+                    ps.setInt(4, userAnswer.getKey());
+                });
+
+        return (int) Arrays.stream(updateCounts).flatMapToInt(Arrays::stream)
+                .filter(count -> count > 0 || count == Statement.SUCCESS_NO_INFO).count();
+    }
+}
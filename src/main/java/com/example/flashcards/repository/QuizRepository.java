@@ -1,13 +1,85 @@
 package com.example.flashcards.repository;
 
+import com.example.flashcards.dto.quiz.QuizDto;
+import com.example.flashcards.dto.quiz.QuizRowDto;
 import com.example.flashcards.model.Quiz;
-import com.example.flashcards.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import javax.persistence.LockModeType;
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 
 public interface QuizRepository extends JpaRepository<Quiz, Integer> {
 
-    List<Quiz> findAllByUser(final User user);
+    @Query(value = "SELECT new com.example.flashcards.dto.quiz.QuizDto(q.id, q.name, q.score, q.creationDate) " +
+            "FROM Quiz q WHERE q.username = :username AND q.creationDate >= :afterDate " +
+            "AND (q.creationDate > :afterDate OR q.id > :afterId) ORDER BY q.creationDate, q.id")
+    List<QuizDto> findPageByUsername(@Param("username") final String username, @Param("afterDate") final Date afterDate,
+                                     @Param("afterId") final Integer afterId, final Pageable pageable);
+
+    @Query(value = "SELECT new com.example.flashcards.dto.quiz.QuizRowDto(q.id, q.name, q.score, q.creationDate, " +
+            "q.flashcardsCount, q.answeredCount, q.correctCount, q.flashcardsVersion) " +
+            "FROM Quiz q WHERE q.id = :id AND q.username = :username")
+    Optional<QuizRowDto> findRowByIdAndUsername(@Param("id") final Integer id, @Param("username") final String username);
+
+    Optional<Quiz> findByIdAndUsername(final Integer id, final String username);
+
+    // Serializes the writers of one quiz that read its flashcards or answers and write back what they derived.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(value = "SELECT q FROM Quiz q WHERE q.id = :id AND q.username = :username")
+    Optional<Quiz> findLockedByIdAndUsername(@Param("id") final Integer id, @Param("username") final String username);
+
+    @Modifying
+    @Query(value = "DELETE FROM Quiz q WHERE q.id = :id AND q.username = :username")
+    int deleteQuizByIdAndUsername(@Param("id") final Integer id, @Param("username") final String username);
+
+    @Modifying
+    @Query(value = "UPDATE Quiz q SET q.answeredCount = q.answeredCount + :answeredDelta, " +
+            "q.correctCount = q.correctCount + :correctDelta, " +
+            "q.score = ((q.correctCount + :correctDelta) * 100) / q.flashcardsCount WHERE q.id = :id")
+    int addAnswerToScore(@Param("id") final Integer id, @Param("answeredDelta") final int answeredDelta,
+                         @Param("correctDelta") final int correctDelta);
+
+    // Only answered flashcards change their verdict, so the answered count stays.
+    @Modifying
+    @Query(value = "UPDATE Quiz q SET q.correctCount = q.correctCount + :correctDelta, " +
+            "q.score = ((q.correctCount + :correctDelta) * 100) / q.flashcardsCount WHERE q.id IN :ids")
+    int addCorrectToScores(@Param("ids") final Collection<Integer> ids, @Param("correctDelta") final int correctDelta);
+
+    @Modifying
+    @Query(value = "UPDATE Quiz q SET q.answeredCount = 0, q.correctCount = 0, q.score = NULL, " +
+            "q.dataVersion = q.dataVersion + 1 " +
+            "WHERE q.id = :id AND q.username = :username")
+    int resetScore(@Param("id") final Integer id, @Param("username") final String username);
+
+    @Query(value = "SELECT q.dataVersion FROM Quiz q WHERE q.id = :id AND q.username = :username")
+    Optional<Long> findDataVersionByIdAndUsername(@Param("id") final Integer id, @Param("username") final String username);
+
+    @Modifying
+    @Query(value = "UPDATE Quiz q SET q.dataVersion = q.dataVersion + 1 WHERE q.id = :id")
+    int incrementDataVersion(@Param("id") final Integer id);
+
+    // Also takes the quiz row lock without loading the quiz, for writers that read its answers next.
+    @Modifying
+    @Query(value = "UPDATE Quiz q SET q.dataVersion = q.dataVersion + 1 WHERE q.id = :id AND q.username = :username")
+    int incrementDataVersionByIdAndUsername(@Param("id") final Integer id, @Param("username") final String username);
+
+    @Modifying
+    @Query(value = "UPDATE Quiz q SET q.dataVersion = q.dataVersion + 1, " +
+            "q.flashcardsVersion = q.flashcardsVersion + 1 WHERE q.id = :id")
+    int incrementFlashcardsVersion(@Param("id") final Integer id);
+
+    // Quizzes show their flashcards' texts, so editing a flashcard changes every quiz containing it.
+    @Modifying
+    @Query(value = "UPDATE Quiz q SET q.dataVersion = q.dataVersion + 1, q.flashcardsVersion = q.flashcardsVersion + 1 " +
+            "WHERE q.id IN (SELECT qf.id.quizId FROM QuizFlashcard qf WHERE qf.id.flashcardId = :flashcardId)")
+    int incrementDataVersionByFlashcardId(@Param("flashcardId") final Integer flashcardId);
 
 }
@@ -2,6 +2,10 @@ package com.example.flashcards.repository;
 
 import com.example.flashcards.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -13,4 +17,20 @@ public interface UserRepository extends JpaRepository<User, Integer> {
 
     void deleteByUsername(final String username);
 
+    // Guarded by the hash the caller checked, so a password changed meanwhile is not overwritten. Runs in its own
+    // transaction, as callers hash outside of one.
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE User u SET u.password = :password " +
+            "WHERE u.username = :username AND u.password = :previousPassword")
+    int replacePassword(@Param("username") final String username, @Param("previousPassword") final String previousPassword,
+                        @Param("password") final String password);
+
+    @Query(value = "SELECT u.dataVersion FROM User u WHERE u.username = :username")
+    Optional<Long> findDataVersionByUsername(@Param("username") final String username);
+
+    @Modifying
+    @Query(value = "UPDATE User u SET u.dataVersion = u.dataVersion + 1 WHERE u.username = :username")
+    int incrementDataVersion(@Param("username") final String username);
+
 }
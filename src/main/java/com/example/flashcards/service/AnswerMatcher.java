@@ -0,0 +1,154 @@
+package com.example.flashcards.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compares user answers with the normalized form stored in {@code answer.normalized_value}.
+ * Normalization runs once per stored answer and once per submitted answer; matching itself does not allocate.
+ */
+@Component
+public class AnswerMatcher {
+
+    private static final LanguageRules DEFAULT_RULES = new LanguageRules(Locale.ROOT, Map.of());
+
+    // Letters that do not decompose into a base letter and a combining mark.
+    private static final Map<Character, String> COMMON_FOLDINGS = Map.of(
+            'ł', "l", 'ø', "o", 'đ', "d", 'ħ', "h", 'ı', "i", 'æ', "ae", 'œ', "oe", 'ß', "ss");
+
+    private static final Map<String, LanguageRules> LANGUAGE_RULES = Map.of(
+            "DEU", new LanguageRules(Locale.GERMAN, Map.of('ä', "ae", 'ö', "oe", 'ü', "ue")),
+            "GER", new LanguageRules(Locale.GERMAN, Map.of('ä', "ae", 'ö', "oe", 'ü', "ue")),
+            "TUR", new LanguageRules(new Locale("tr"), Map.of()),
+            "DAN", new LanguageRules(new Locale("da"), Map.of('å', "aa")),
+            "NOR", new LanguageRules(new Locale("no"), Map.of('å', "aa")));
+
+    private static final ThreadLocal<int[][]> DISTANCE_ROWS = ThreadLocal.withInitial(() -> new int[2][32]);
+
+    private final int maxTypos;
+
+    public AnswerMatcher(@Value("${quiz.answer.max-typos:0}") final int maxTypos) {
+        this.maxTypos = maxTypos;
+    }
+
+    public String normalize(final String value, final String langCode) {
+        if (value == null) {
+            return null;
+        }
+        final LanguageRules rules = langCode == null ? DEFAULT_RULES
+                : LANGUAGE_RULES.getOrDefault(langCode.toUpperCase(Locale.ROOT), DEFAULT_RULES);
+
+        final String lowerCase = Normalizer.normalize(value, Normalizer.Form.NFKC).toLowerCase(rules.locale);
+        final StringBuilder folded = new StringBuilder(lowerCase.length());
+        for (int i = 0; i < lowerCase.length(); i++) {
+            final char c = lowerCase.charAt(i);
+            final String replacement = rules.replacements.getOrDefault(c, COMMON_FOLDINGS.get(c));
+            if (replacement != null) {
+                folded.append(replacement);
+            } else {
+                folded.append(c);
+            }
+        }
+
+        final String decomposed = Normalizer.normalize(folded, Normalizer.Form.NFD);
+        final StringBuilder normalized = new StringBuilder(decomposed.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < decomposed.length(); i++) {
+            final char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isWhitespace(c) || Character.isSpaceChar(c)) {
+                pendingSpace = normalized.length() > 0;
+                continue;
+            }
+            if (pendingSpace) {
+                normalized.append(' ');
+                pendingSpace = false;
+            }
+            normalized.append(c);
+        }
+        return normalized.toString();
+    }
+
+    public boolean matches(final String normalizedAnswer, final String normalizedUserAnswer) {
+        if (normalizedAnswer == null || normalizedUserAnswer == null) {
+            return false;
+        }
+        if (normalizedAnswer.equals(normalizedUserAnswer)) {
+            return true;
+        }
+        // Short answers get proportionally fewer typos, otherwise "cat" would accept "dog" at three typos.
+        final int allowedTypos = Math.min(maxTypos, normalizedAnswer.length() / 4);
+        return allowedTypos > 0 && distanceAtMost(normalizedAnswer, normalizedUserAnswer, allowedTypos);
+    }
+
+    // Levenshtein distance restricted to a diagonal band of width 2 * limit + 1, abandoned once a row exceeds the limit.
+    private static boolean distanceAtMost(final String source, final String target, final int limit) {
+        final int sourceLength = source.length();
+        final int targetLength = target.length();
+        if (Math.abs(sourceLength - targetLength) > limit) {
+            return false;
+        }
+
+        final int[][] rows = distanceRows(targetLength + 1);
+        int[] previous = rows[0];
+        int[] current = rows[1];
+        final int outOfBand = limit + 1;
+        for (int j = 0; j <= targetLength; j++) {
+            previous[j] = j <= limit ? j : outOfBand;
+        }
+
+        for (int i = 1; i <= sourceLength; i++) {
+            final int from = Math.max(1, i - limit);
+            final int to = Math.min(targetLength, i + limit);
+            current[0] = i <= limit ? i : outOfBand;
+            if (from > 1) {
+                current[from - 1] = outOfBand;
+            }
+            int rowMinimum = current[0];
+            final char sourceChar = source.charAt(i - 1);
+            for (int j = from; j <= to; j++) {
+                final int substitution = previous[j - 1] + (sourceChar == target.charAt(j - 1) ? 0 : 1);
+                final int deletion = previous[j] + 1;
+                final int insertion = current[j - 1] + 1;
+                final int distance = Math.min(Math.min(substitution, deletion), Math.min(insertion, outOfBand));
+                current[j] = distance;
+                rowMinimum = Math.min(rowMinimum, distance);
+            }
+            if (to < targetLength) {
+                current[to + 1] = outOfBand;
+            }
+            if (rowMinimum > limit) {
+                return false;
+            }
+            final int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[targetLength] <= limit;
+    }
+
+    private static int[][] distanceRows(final int length) {
+        int[][] rows = DISTANCE_ROWS.get();
+        if (rows[0].length < length) {
+            rows = new int[2][length];
+            DISTANCE_ROWS.set(rows);
+        }
+        return rows;
+    }
+
+    private static final class LanguageRules {
+        private final Locale locale;
+        private final Map<Character, String> replacements;
+
+        private LanguageRules(final Locale locale, final Map<Character, String> replacements) {
+            this.locale = locale;
+            this.replacements = replacements;
+        }
+    }
+}
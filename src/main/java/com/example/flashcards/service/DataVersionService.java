@@ -0,0 +1,51 @@
+package com.example.flashcards.service;
+
+import com.example.flashcards.repository.QuizRepository;
+import com.example.flashcards.repository.UserRepository;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Versions behind the ETags of the read endpoints: one counter per user covering all of their flashcards and quizzes,
+ * and one per quiz. Write paths bump them inside their own transaction, so a version changes exactly when the data
+ * it covers is committed, and checking one costs a single-column read.
+ */
+@Service
+@AllArgsConstructor
+public class DataVersionService {
+
+    private final UserRepository userRepository;
+    private final QuizRepository quizRepository;
+
+    // 1 statement.
+    @Transactional(readOnly = true)
+    public Optional<String> getUserETag(final String username) {
+        return userRepository.findDataVersionByUsername(username).map(version -> "u" + version);
+    }
+
+    // 1 statement, empty for quizzes of other users so they are answered by the regular 404.
+    @Transactional(readOnly = true)
+    public Optional<String> getQuizETag(final int id, final String username) {
+        return quizRepository.findDataVersionByIdAndUsername(id, username).map(version -> "q" + version);
+    }
+
+    public void userDataChanged(final String username) {
+        userRepository.incrementDataVersion(username);
+    }
+
+    public void quizChanged(final int id) {
+        quizRepository.incrementDataVersion(id);
+    }
+
+    // Also moves the quiz's flashcards version, as its flashcards were added or removed.
+    public void quizFlashcardsChanged(final int id) {
+        quizRepository.incrementFlashcardsVersion(id);
+    }
+
+    public void flashcardChanged(final int flashcardId) {
+        quizRepository.incrementDataVersionByFlashcardId(flashcardId);
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.flashcards.service;
+
+import com.example.flashcards.dto.flashcard.ExportFormat;
+import com.example.flashcards.dto.flashcard.FlashcardRowDto;
+import com.example.flashcards.repository.FlashcardRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@AllArgsConstructor
+public class FlashcardExportService {
+
+    private static final String CSV_HEADER = "id,question,question_lang_code,answer,answer_lang_code,creation_date";
+
+    private final FlashcardRepository flashcardRepository;
+    private final ObjectMapper objectMapper;
+
+    // Rows are read as DTO projections through a database cursor, so neither the result set
+    // nor the persistence context grows with the deck size.
+    @Transactional(readOnly = true)
+    public void exportFlashcards(final ExportFormat format, final String username, final OutputStream outputStream)
+            throws IOException {
+        final Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        try (Stream<FlashcardRowDto> rows = flashcardRepository.streamByUsername(username)) {
+            if (format == ExportFormat.CSV) {
+                writeCsv(rows.iterator(), writer);
+            } else {
+                writeNdjson(rows.iterator(), writer);
+            }
+        }
+        writer.flush();
+    }
+
+    private void writeNdjson(final Iterator<FlashcardRowDto> rows, final Writer writer) throws IOException {
+        final JsonGenerator generator = objectMapper.getFactory().createGenerator(writer)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        while (rows.hasNext()) {
+            writeNdjsonRow(rows.next(), generator);
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+    }
+
+    // Field by field rather than the whole row, which also carries internal columns such as the question sort key.
+    private void writeNdjsonRow(final FlashcardRowDto row, final JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", row.getId());
+        generator.writeStringField("question", row.getQuestion());
+        generator.writeStringField("questionLangCode", row.getQuestionLangCode());
+        generator.writeStringField("answer", row.getAnswer());
+        generator.writeStringField("answerLangCode", row.getAnswerLangCode());
+        generator.writeStringField("creationDate", row.getCreationDate().toInstant().toString());
+        generator.writeEndObject();
+    }
+
+    private void writeCsv(final Iterator<FlashcardRowDto> rows, final Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        writer.write("\r\n");
+        while (rows.hasNext()) {
+            final FlashcardRowDto row = rows.next();
+            writer.write(String.valueOf(row.getId()));
+            writer.write(',');
+            writeCsvField(row.getQuestion(), writer);
+            writer.write(',');
+            writeCsvField(row.getQuestionLangCode(), writer);
+            writer.write(',');
+            writeCsvField(row.getAnswer(), writer);
+            writer.write(',');
+            writeCsvField(row.getAnswerLangCode(), writer);
+            writer.write(',');
+            writer.write(row.getCreationDate().toInstant().toString());
+            writer.write("\r\n");
+        }
+    }
+
+    private void writeCsvField(final String value, final Writer writer) throws IOException {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+}
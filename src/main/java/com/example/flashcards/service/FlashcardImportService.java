@@ -0,0 +1,261 @@
+package com.example.flashcards.service;
+
+import com.example.flashcards.dto.flashcard.*;
+import com.example.flashcards.exception.BadRequestException;
+import com.example.flashcards.exception.ConflictException;
+import com.example.flashcards.exception.InvalidArgumentException;
+import com.example.flashcards.repository.FlashcardRepository;
+import com.example.flashcards.validation.FlashcardValidator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Service
+@AllArgsConstructor
+public class FlashcardImportService {
+
+    private static final int BATCH_SIZE = 500;
+    // Past this many rejected rows the body is most likely not what the user meant to import.
+    private static final int MAX_ERRORS = 100;
+    private static final List<String> CSV_COLUMNS = List.of("question", "question_lang_code", "answer", "answer_lang_code");
+
+    private final FlashcardRepository flashcardRepository;
+    private final LanguageCatalog languageCatalog;
+    private final FlashcardValidator flashcardValidator;
+    private final AnswerMatcher answerMatcher;
+    private final QuestionHasher questionHasher;
+    private final QuestionSortKeys questionSortKeys;
+    private final FlashcardSearchIndex flashcardSearchIndex;
+    private final DataVersionService dataVersionService;
+    private final ObjectMapper objectMapper;
+
+    // Reads the body row by row: languages come from the catalog, existing questions are loaded once and valid rows are inserted in batches.
+    // Imports all valid rows or, after too many invalid ones or a conflict with a concurrent write, none.
+    @Transactional
+    public ImportReportDto importFlashcards(final ExportFormat format, final String username, final InputStream inputStream)
+            throws IOException {
+        final Set<Long> questionHashes = flashcardRepository.findQuestionHashesByUsername(username);
+
+        final List<ImportErrorDto> errors = new ArrayList<>();
+        final List<NewFlashcardDto> batch = new ArrayList<>(BATCH_SIZE);
+        long imported = 0;
+        long row = 0;
+
+        final Reader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        final Iterator<FlashcardDto> rows = format == ExportFormat.CSV ? readCsv(reader) : readNdjson(reader);
+        while (hasNext(rows, row + 1)) {
+            row++;
+            try {
+                final FlashcardDto flashcardDto = rows.next();
+                flashcardValidator.validateFlashcardParameters(flashcardDto);
+                final Integer questionLanguageId = languageCatalog.findId(flashcardDto.getQuestion().getLangCode()).orElse(null);
+                final Integer answerLanguageId = languageCatalog.findId(flashcardDto.getAnswer().getLangCode()).orElse(null);
+                if (questionLanguageId == null || answerLanguageId == null) {
+                    errors.add(new ImportErrorDto(row, "Language not found"));
+                    continue;
+                }
+                final long questionHash = questionHasher.hash(flashcardDto.getQuestion().getValue(),
+                        flashcardDto.getQuestion().getLangCode());
+                if (!questionHashes.add(questionHash)) {
+                    errors.add(new ImportErrorDto(row, "Flashcard already exists"));
+                } else {
+                    batch.add(NewFlashcardDto.builder()
+                            .question(flashcardDto.getQuestion().getValue())
+                            .questionHash(questionHash)
+                            .questionSortKey(questionSortKeys.sortKey(flashcardDto.getQuestion().getValue()))
+                            .questionLanguageId(questionLanguageId)
+                            .questionLangCode(flashcardDto.getQuestion().getLangCode())
+                            .answer(flashcardDto.getAnswer().getValue())
+                            .normalizedAnswer(answerMatcher.normalize(flashcardDto.getAnswer().getValue(),
+                                    flashcardDto.getAnswer().getLangCode()))
+                            .answerLanguageId(answerLanguageId)
+                            .answerLangCode(flashcardDto.getAnswer().getLangCode())
+                            .build());
+                }
+            } catch (final InvalidArgumentException e) {
+                errors.add(new ImportErrorDto(row, e.getFieldErrors().stream()
+                        .map(fieldError -> fieldError.getField() + ": " + fieldError.getDefaultMessage())
+                        .collect(Collectors.joining(", "))));
+            } catch (final RowFormatException e) {
+                errors.add(new ImportErrorDto(row, e.getMessage()));
+            }
+
+            if (errors.size() >= MAX_ERRORS) {
+                throw new BadRequestException("Import stopped at row " + row + " after " + MAX_ERRORS + " invalid rows, nothing was imported");
+            }
+            if (batch.size() == BATCH_SIZE) {
+                insertAll(username, batch);
+                imported += batch.size();
+                batch.clear();
+            }
+        }
+        insertAll(username, batch);
+        imported += batch.size();
+        if (imported > 0) {
+            flashcardSearchIndex.invalidate(username);
+            dataVersionService.userDataChanged(username);
+        }
+
+        return new ImportReportDto(imported, errors);
+    }
+
+    // Rows were checked against the questions and languages read at the start; a flashcard created or a language removed
+    // since then fails the whole batch, as the transaction cannot go on after the failed statement.
+    private void insertAll(final String username, final List<NewFlashcardDto> batch) {
+        try {
+            flashcardRepository.insertAll(username, batch);
+        } catch (final DataIntegrityViolationException e) {
+            throw new ConflictException("Flashcards or languages changed during the import, nothing was imported");
+        }
+    }
+
+    private boolean hasNext(final Iterator<FlashcardDto> rows, final long row) {
+        try {
+            return rows.hasNext();
+        } catch (final RuntimeException e) {
+            throw new BadRequestException("Malformed content at row " + row);
+        }
+    }
+
+    private Iterator<FlashcardDto> readNdjson(final Reader reader) throws IOException {
+        final MappingIterator<JsonNode> nodes = objectMapper.readerFor(JsonNode.class).readValues(reader);
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return nodes.hasNext();
+            }
+
+            @Override
+            public FlashcardDto next() {
+                final JsonNode node;
+                try {
+                    node = nodes.nextValue();
+                } catch (final JsonProcessingException e) {
+                    throw new RowFormatException("Invalid JSON");
+                } catch (final IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return flashcardDto(node.path("question").asText(null), node.path("questionLangCode").asText(null),
+                        node.path("answer").asText(null), node.path("answerLangCode").asText(null));
+            }
+        };
+    }
+
+    private Iterator<FlashcardDto> readCsv(final Reader reader) throws IOException {
+        final CsvRecordReader records = new CsvRecordReader(reader);
+        final List<String> header = records.next();
+        if (header == null) {
+            return Collections.emptyIterator();
+        }
+        final int[] columns = CSV_COLUMNS.stream().mapToInt(header::indexOf).toArray();
+        if (Arrays.stream(columns).anyMatch(column -> column < 0)) {
+            throw new BadRequestException("CSV header must contain " + String.join(",", CSV_COLUMNS));
+        }
+
+        return new Iterator<>() {
+            private List<String> record;
+
+            @Override
+            public boolean hasNext() {
+                if (record == null) {
+                    try {
+                        record = records.next();
+                    } catch (final IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+                return record != null;
+            }
+
+            @Override
+            public FlashcardDto next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                final List<String> current = record;
+                record = null;
+                if (Arrays.stream(columns).anyMatch(column -> column >= current.size())) {
+                    throw new RowFormatException("Missing columns");
+                }
+                return flashcardDto(current.get(columns[0]), current.get(columns[1]), current.get(columns[2]),
+                        current.get(columns[3]));
+            }
+        };
+    }
+
+    private FlashcardDto flashcardDto(final String question, final String questionLangCode, final String answer,
+                                      final String answerLangCode) {
+        return FlashcardDto.builder()
+                .question(QuestionDto.builder().value(question).langCode(questionLangCode).build())
+                .answer(AnswerDto.builder().value(answer).langCode(answerLangCode).build())
+                .build();
+    }
+
+    // RFC 4180 records, quoted fields may span lines.
+    private static final class CsvRecordReader {
+        private final Reader reader;
+        private final StringBuilder field = new StringBuilder();
+
+        private CsvRecordReader(final Reader reader) {
+            this.reader = reader;
+        }
+
+        private List<String> next() throws IOException {
+            int c = reader.read();
+            while (c == '\r' || c == '\n') {
+                c = reader.read();
+            }
+            if (c < 0) {
+                return null;
+            }
+
+            final List<String> record = new ArrayList<>();
+            boolean quoted = false;
+            field.setLength(0);
+            while (true) {
+                if (quoted) {
+                    if (c < 0) {
+                        throw new RowFormatException("Unterminated quoted field");
+                    } else if (c == '"') {
+                        c = reader.read();
+                        if (c == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            continue;
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.length() == 0) {
+                    quoted = true;
+                } else if (c == ',') {
+                    record.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\r' || c == '\n' || c < 0) {
+                    record.add(field.toString());
+                    return record;
+                } else {
+                    field.append((char) c);
+                }
+                c = reader.read();
+            }
+        }
+    }
+
+    private static final class RowFormatException extends RuntimeException {
+        private RowFormatException(final String message) {
+            super(message);
+        }
+    }
+}
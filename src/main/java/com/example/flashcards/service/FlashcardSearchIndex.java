@@ -0,0 +1,345 @@
+package com.example.flashcards.service;
+
+import com.example.flashcards.dto.flashcard.FlashcardRowDto;
+import com.example.flashcards.repository.FlashcardRepository;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Per-user trigram index over normalized question and answer text, replacing {@code LIKE '%query%'} scans.
+ * A user's index is built from one streaming query on their first search and then kept up to date by the write paths
+ * of this instance, including writes committed while it is still being built. Writes made through another instance
+ * are not applied at all; they show up once the index expires and is rebuilt, at most expire-minutes after its build.
+ */
+@Component
+public class FlashcardSearchIndex {
+
+    // Share of the query trigrams a text has to contain to be a hit; exact substrings always contain all of them.
+    private static final double MIN_COVERAGE = 0.6;
+
+    private final FlashcardRepository flashcardRepository;
+    private final AnswerMatcher answerMatcher;
+    private final Cache<String, UserIndex> indexes;
+    // Indexes whose streaming query is still running, so writes committed meanwhile reach them too.
+    private final ConcurrentMap<String, UserIndex> building = new ConcurrentHashMap<>();
+
+    // Weighed by flashcards when built, as decks range from a few cards to tens of thousands. Guava splits the weight
+    // between its segments, so a single index may take a quarter of it at most.
+    public FlashcardSearchIndex(final FlashcardRepository flashcardRepository, final AnswerMatcher answerMatcher,
+                                @Value("${flashcard.search.max-flashcards:1000000}") final long maxFlashcards,
+                                @Value("${flashcard.search.expire-minutes:10}") final long expireMinutes) {
+        this.flashcardRepository = flashcardRepository;
+        this.answerMatcher = answerMatcher;
+        this.indexes = CacheBuilder.newBuilder()
+                .maximumWeight(maxFlashcards)
+                .weigher((final String username, final UserIndex index) -> Math.max(1, index.size()))
+                .expireAfterWrite(expireMinutes, TimeUnit.MINUTES)
+                .build();
+    }
+
+    // Returns the flashcards ranked best first: exact substrings, then by share of matched trigrams, then shorter texts.
+    public List<FlashcardRowDto> search(final String username, final String query, final boolean includeAnswers,
+                                        final String questionLangCode, final String answerLangCode) {
+        final String normalizedQuery = normalize(query);
+        if (normalizedQuery.isEmpty()) {
+            return List.of();
+        }
+        return index(username).search(normalizedQuery, includeAnswers, questionLangCode, answerLangCode);
+    }
+
+    public void put(final String username, final FlashcardRowDto flashcard) {
+        final IndexedFlashcard indexed = new IndexedFlashcard(flashcard, normalize(flashcard.getQuestion()),
+                normalize(flashcard.getAnswer()));
+        afterCommit(() -> forEachIndex(username, index -> index.put(indexed)));
+    }
+
+    public void remove(final String username, final Integer flashcardId) {
+        afterCommit(() -> forEachIndex(username, index -> index.remove(flashcardId)));
+    }
+
+    // For bulk changes, where rebuilding on the next search is cheaper than applying every row.
+    public void invalidate(final String username) {
+        afterCommit(() -> {
+            forEachIndex(username, UserIndex::discard);
+            indexes.invalidate(username);
+        });
+    }
+
+    private void forEachIndex(final String username, final Consumer<UserIndex> action) {
+        final UserIndex index = indexes.getIfPresent(username);
+        if (index != null) {
+            action.accept(index);
+        }
+        final UserIndex buildingIndex = building.get(username);
+        if (buildingIndex != null && buildingIndex != index) {
+            action.accept(buildingIndex);
+        }
+    }
+
+    // An index discarded while it was built, by a bulk change its query may have missed, is built again.
+    private UserIndex index(final String username) {
+        while (true) {
+            final UserIndex index = getOrBuild(username);
+            // Stays registered until cached, so no write can fall between the two.
+            building.remove(username, index);
+            if (!index.isDiscarded()) {
+                return index;
+            }
+            indexes.asMap().remove(username, index);
+        }
+    }
+
+    private UserIndex getOrBuild(final String username) {
+        try {
+            return indexes.get(username, () -> build(username));
+        } catch (final ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private UserIndex build(final String username) {
+        final UserIndex index = new UserIndex();
+        building.put(username, index);
+        try (Stream<FlashcardRowDto> rows = flashcardRepository.streamByUsername(username)) {
+            rows.forEach(row -> index.load(new IndexedFlashcard(row, normalize(row.getQuestion()), normalize(row.getAnswer()))));
+        } catch (final RuntimeException e) {
+            building.remove(username, index);
+            throw e;
+        }
+        index.loaded();
+        return index;
+    }
+
+    // Language independent, so a query matches whatever language rules the card was written with.
+    private String normalize(final String value) {
+        return value == null ? "" : answerMatcher.normalize(value, null);
+    }
+
+    private static void afterCommit(final Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static long trigram(final String text, final int start) {
+        return (long) text.charAt(start) << 32 | (long) text.charAt(start + 1) << 16 | text.charAt(start + 2);
+    }
+
+    private static Set<Long> trigrams(final String text) {
+        final Set<Long> trigrams = new HashSet<>();
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            trigrams.add(trigram(text, i));
+        }
+        return trigrams;
+    }
+
+    private static final class IndexedFlashcard {
+        private final FlashcardRowDto row;
+        private final String question;
+        private final String answer;
+
+        private IndexedFlashcard(final FlashcardRowDto row, final String question, final String answer) {
+            this.row = row;
+            this.question = question;
+            this.answer = answer;
+        }
+    }
+
+    private static final class Hit {
+        private final IndexedFlashcard flashcard;
+        private final boolean substring;
+        private final double coverage;
+        private final int length;
+
+        private Hit(final IndexedFlashcard flashcard, final boolean substring, final double coverage, final int length) {
+            this.flashcard = flashcard;
+            this.substring = substring;
+            this.coverage = coverage;
+            this.length = length;
+        }
+    }
+
+    private static final Comparator<Hit> RANKING = Comparator.<Hit, Boolean>comparing(hit -> !hit.substring)
+            .thenComparing(hit -> -hit.coverage)
+            .thenComparingInt(hit -> hit.length)
+            .thenComparing(hit -> hit.flashcard.row.getId());
+
+    private static final class UserIndex {
+        private final Map<Integer, IndexedFlashcard> flashcards = new HashMap<>();
+        private final Map<Long, Set<Integer>> questionPostings = new HashMap<>();
+        private final Map<Long, Set<Integer>> answerPostings = new HashMap<>();
+        // Flashcards written since the build started; the query's snapshot may predate them, so its rows are skipped.
+        private Set<Integer> written = new HashSet<>();
+        private boolean discarded;
+
+        private synchronized void load(final IndexedFlashcard flashcard) {
+            if (!written.contains(flashcard.row.getId())) {
+                add(flashcard);
+            }
+        }
+
+        private synchronized void loaded() {
+            written = null;
+        }
+
+        private synchronized void put(final IndexedFlashcard flashcard) {
+            markWritten(flashcard.row.getId());
+            remove(flashcard.row.getId());
+            add(flashcard);
+        }
+
+        private synchronized void remove(final Integer flashcardId) {
+            markWritten(flashcardId);
+            final IndexedFlashcard flashcard = flashcards.remove(flashcardId);
+            if (flashcard != null) {
+                removePostings(questionPostings, flashcard.question, flashcardId);
+                removePostings(answerPostings, flashcard.answer, flashcardId);
+            }
+        }
+
+        private synchronized void discard() {
+            discarded = true;
+        }
+
+        private synchronized boolean isDiscarded() {
+            return discarded;
+        }
+
+        private synchronized int size() {
+            return flashcards.size();
+        }
+
+        private void add(final IndexedFlashcard flashcard) {
+            flashcards.put(flashcard.row.getId(), flashcard);
+            addPostings(questionPostings, flashcard.question, flashcard.row.getId());
+            addPostings(answerPostings, flashcard.answer, flashcard.row.getId());
+        }
+
+        private void markWritten(final Integer flashcardId) {
+            if (written != null) {
+                written.add(flashcardId);
+            }
+        }
+
+        private synchronized List<FlashcardRowDto> search(final String query, final boolean includeAnswers,
+                                                          final String questionLangCode, final String answerLangCode) {
+            final Stream<Hit> hits;
+            if (query.length() < 3) {
+                // Too short for a trigram, but only a handful of characters long: a substring scan of the deck.
+                hits = flashcards.values().stream()
+                        .map(flashcard -> shortQueryHit(flashcard, query, includeAnswers))
+                        .filter(Objects::nonNull);
+            } else {
+                final Set<Long> queryTrigrams = trigrams(query);
+                final int required = (int) Math.ceil(queryTrigrams.size() * MIN_COVERAGE);
+                final Map<Integer, Integer> questionMatches = countMatches(questionPostings, queryTrigrams, required);
+                final Map<Integer, Integer> answerMatches = includeAnswers
+                        ? countMatches(answerPostings, queryTrigrams, required) : Map.of();
+
+                final Set<Integer> candidates = new HashSet<>(questionMatches.keySet());
+                candidates.addAll(answerMatches.keySet());
+                hits = candidates.stream()
+                        .map(id -> hit(flashcards.get(id), query, queryTrigrams.size(), required,
+                                questionMatches.getOrDefault(id, 0), answerMatches.getOrDefault(id, 0)))
+                        .filter(Objects::nonNull);
+            }
+            return hits
+                    .filter(hit -> questionLangCode == null || questionLangCode.equals(hit.flashcard.row.getQuestionLangCode()))
+                    .filter(hit -> answerLangCode == null || answerLangCode.equals(hit.flashcard.row.getAnswerLangCode()))
+                    .sorted(RANKING)
+                    .map(hit -> hit.flashcard.row)
+                    .collect(Collectors.toList());
+        }
+
+        private static Hit hit(final IndexedFlashcard flashcard, final String query, final int queryTrigrams,
+                               final int required, final int questionMatches, final int answerMatches) {
+            final boolean questionBetter = questionMatches >= answerMatches;
+            final int matches = Math.max(questionMatches, answerMatches);
+            if (matches < required) {
+                return null;
+            }
+            final String text = questionBetter ? flashcard.question : flashcard.answer;
+            return new Hit(flashcard, matches == queryTrigrams && text.contains(query),
+                    (double) matches / queryTrigrams, text.length());
+        }
+
+        private static Hit shortQueryHit(final IndexedFlashcard flashcard, final String query, final boolean includeAnswers) {
+            if (flashcard.question.contains(query)) {
+                return new Hit(flashcard, true, 1, flashcard.question.length());
+            } else if (includeAnswers && flashcard.answer.contains(query)) {
+                return new Hit(flashcard, true, 1, flashcard.answer.length());
+            }
+            return null;
+        }
+
+        // A text missing at most n - required query trigrams appears in at least one of the n - required + 1 rarest
+        // posting lists, so only those are scanned for candidates and the common trigrams are merely probed.
+        private static Map<Integer, Integer> countMatches(final Map<Long, Set<Integer>> postings, final Set<Long> trigrams,
+                                                          final int required) {
+            final List<Set<Integer>> lists = trigrams.stream()
+                    .map(trigram -> postings.getOrDefault(trigram, Set.of()))
+                    .sorted(Comparator.comparingInt(Set::size))
+                    .collect(Collectors.toList());
+            final int candidateLists = lists.size() - required + 1;
+
+            final Map<Integer, Integer> matches = new HashMap<>();
+            for (int i = 0; i < candidateLists; i++) {
+                for (final Integer id : lists.get(i)) {
+                    if (matches.containsKey(id)) {
+                        continue;
+                    }
+                    int count = 0;
+                    for (final Set<Integer> list : lists) {
+                        count += list.contains(id) ? 1 : 0;
+                    }
+                    if (count >= required) {
+                        matches.put(id, count);
+                    } else {
+                        matches.put(id, 0);
+                    }
+                }
+            }
+            matches.values().removeIf(count -> count == 0);
+            return matches;
+        }
+
+        private static void addPostings(final Map<Long, Set<Integer>> postings, final String text, final Integer id) {
+            for (final Long trigram : trigrams(text)) {
+                postings.computeIfAbsent(trigram, key -> new HashSet<>()).add(id);
+            }
+        }
+
+        private static void removePostings(final Map<Long, Set<Integer>> postings, final String text, final Integer id) {
+            for (final Long trigram : trigrams(text)) {
+                final Set<Integer> ids = postings.get(trigram);
+                if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                    postings.remove(trigram);
+                }
+            }
+        }
+    }
+}
@@ -1,76 +1,104 @@
 package com.example.flashcards.service;
 
-import com.example.flashcards.dto.flashcard.FlashcardDto;
+import com.example.flashcards.dto.KeysetCursor;
+import com.example.flashcards.dto.OffsetCursor;
+import com.example.flashcards.dto.PageDto;
+import com.example.flashcards.dto.flashcard.*;
 import com.example.flashcards.exception.BadRequestException;
 import com.example.flashcards.exception.ConflictException;
 import com.example.flashcards.exception.NotFoundException;
 import com.example.flashcards.model.Answer;
 import com.example.flashcards.model.Flashcard;
 import com.example.flashcards.model.Question;
-import com.example.flashcards.model.User;
+import com.example.flashcards.repository.AnswerRepository;
 import com.example.flashcards.repository.FlashcardRepository;
-import com.example.flashcards.repository.LanguageRepository;
-import com.example.flashcards.repository.UserRepository;
+import com.example.flashcards.repository.QuestionRepository;
 import com.example.flashcards.validation.FlashcardValidator;
 import lombok.AllArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.SQLException;
 import java.sql.Timestamp;
+import java.util.Date;
 import java.util.List;
-import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 @Service
 @AllArgsConstructor
 public class FlashcardService {
 
+    private static final int MAX_DUE_FLASHCARDS = 100;
+    private static final String UNIQUE_VIOLATION = "23505";
+    // 23503 in PostgreSQL, 23506 in H2.
+    private static final Set<String> FOREIGN_KEY_VIOLATIONS = Set.of("23503", "23506");
+
     private final FlashcardRepository flashcardRepository;
-    private final UserRepository userRepository;
-    private final LanguageRepository languageRepository;
+    private final QuestionRepository questionRepository;
+    private final AnswerRepository answerRepository;
+    private final LanguageCatalog languageCatalog;
     private final FlashcardValidator flashcardValidator;
-
+    private final AnswerMatcher answerMatcher;
+    private final QuestionHasher questionHasher;
+    private final QuestionSortKeys questionSortKeys;
+    private final FlashcardSearchIndex flashcardSearchIndex;
+    private final DataVersionService dataVersionService;
+    private final QuizService quizService;
+
+    // Listing and sorting cost 1 statement each: a keyset page of flat FlashcardRowDto projections.
     @Transactional(readOnly = true)
-    public List<FlashcardDto> getFlashcards(final String username) {
-        final User user = userRepository.findUserByUsername(username).orElseThrow(() -> new NotFoundException("User not found"));
-        final List<Flashcard> flashcards = flashcardRepository.findAllByUser(user);
-        return flashcards.stream().map(FlashcardDto::createFrom).collect(Collectors.toList());
+    public PageDto<FlashcardDto> getFlashcards(final String cursor, final int size, final String username) {
+        return findFlashcardsPage(null, null, null, FlashcardOrder.CREATION_DATE, false, cursor, size, username);
     }
 
+    // 1 statement.
     @Transactional(readOnly = true)
     public FlashcardDto getFlashcardById(final int id, final String username) {
-        userRepository.findUserByUsername(username).orElseThrow(() -> new NotFoundException("User not found"));
-        final Flashcard flashcard = flashcardRepository.findById(id).orElseThrow(() -> new NotFoundException("Flashcard not found"));
-        return FlashcardDto.createFrom(flashcard);
+        return flashcardRepository.findRowByIdAndUsername(id, username).map(FlashcardRowDto::toFlashcardDto)
+                .orElseThrow(() -> new NotFoundException("Flashcard not found"));
+    }
+
+    // 1 statement, served from flashcard_users_next_due_idx: one range scan stopping after limit rows.
+    @Transactional(readOnly = true)
+    public List<DueFlashcardDto> getDueFlashcards(final int limit, final String username) {
+        if (limit < 1 || limit > MAX_DUE_FLASHCARDS) {
+            throw new BadRequestException("Limit must be between 1 and " + MAX_DUE_FLASHCARDS);
+        }
+        return flashcardRepository.findDueByUsername(username, new Date(), PageRequest.of(0, limit));
     }
 
     @Transactional
     public FlashcardDto createFlashcard(final FlashcardDto flashcardDto, final String username) {
         flashcardValidator.validateFlashcardParameters(flashcardDto);
 
-        final User user = userRepository.findUserByUsername(username).orElseThrow(() -> new NotFoundException("User not found"));
-
-        List<Flashcard> flashcards = flashcardRepository.findAllByUser(user);
-
-        flashcards.stream().map(Flashcard::getQuestion)
-                .filter(q -> Objects.equals(q.getValue(), flashcardDto.getQuestion().getValue())).findFirst()
-                .ifPresent(f -> {
-                    throw new ConflictException("Flashcard already exists");
-                });
+        final long questionHash = questionHasher.hash(flashcardDto.getQuestion().getValue(), flashcardDto.getQuestion().getLangCode());
+        if (flashcardRepository.existsByUsernameAndQuestionHash(username, questionHash)) {
+            throw new ConflictException("Flashcard already exists");
+        }
 
         final Question question = Question.builder().language(
-                languageRepository.findByLangCode(flashcardDto.getQuestion().getLangCode())
+                languageCatalog.findReference(flashcardDto.getQuestion().getLangCode())
                         .orElseThrow(() -> new NotFoundException("Language not found"))).value(flashcardDto.getQuestion().getValue()).build();
 
         final Answer answer = Answer.builder().language(
-                languageRepository.findByLangCode(flashcardDto.getAnswer().getLangCode())
-                        .orElseThrow(() -> new NotFoundException("Language not found"))).value(flashcardDto.getAnswer().getValue()).build();
+                languageCatalog.findReference(flashcardDto.getAnswer().getLangCode())
+                        .orElseThrow(() -> new NotFoundException("Language not found"))).value(flashcardDto.getAnswer().getValue())
+                .normalizedValue(answerMatcher.normalize(flashcardDto.getAnswer().getValue(), flashcardDto.getAnswer().getLangCode()))
+                .build();
 
-        final Flashcard flashcard = Flashcard.builder().question(question).answer(answer).isUsed(false).user(user)
-                .creationDate(new Timestamp(System.currentTimeMillis())).build();
+        final Flashcard flashcard = Flashcard.builder().question(question).answer(answer).usageCount(0).username(username)
+                .creationDate(new Timestamp(System.currentTimeMillis())).questionHash(questionHash)
+                .questionSortKey(questionSortKeys.sortKey(flashcardDto.getQuestion().getValue()))
+                .questionLangCode(question.getLanguage().getLangCode())
+                .answerLangCode(answer.getLanguage().getLangCode()).build();
 
-        flashcardRepository.save(flashcard);
+        saveCheckingQuestionUniqueness(flashcard, "Flashcard already exists");
+        flashcardSearchIndex.put(username, toRow(flashcard));
+        dataVersionService.userDataChanged(username);
 
         return FlashcardDto.createFrom(flashcard);
 
@@ -79,64 +107,124 @@ public class FlashcardService {
     @Transactional
     public void editFlashcard(final int id, final FlashcardDto flashcardDto, final String username) {
         flashcardValidator.validateFlashcardParameters(flashcardDto);
-        userRepository.findUserByUsername(username).orElseThrow(() -> new NotFoundException("User not found"));
+        final Flashcard flashcard = flashcardRepository.findByIdAndUsername(id, username).orElseThrow(()-> new NotFoundException("Flashcard not found"));
 
-        final Flashcard flashcard = flashcardRepository.findById(id).orElseThrow(()-> new NotFoundException("Flashcard not found"));
-
-        flashcardRepository.findByUserUsernameAndQuestionValue(username, flashcardDto.getQuestion().getValue()).ifPresent(f -> {
+        final long questionHash = questionHasher.hash(flashcardDto.getQuestion().getValue(),
+                flashcard.getQuestion().getLanguage().getLangCode());
+        if (flashcardRepository.existsByUsernameAndQuestionHashAndIdNot(username, questionHash, id)) {
             throw new ConflictException("Flashcard with inputted question already exists");
-        });
+        }
+
+        final String answerLangCode = flashcard.getAnswer().getLanguage().getLangCode();
+        final String normalizedAnswer = answerMatcher.normalize(flashcardDto.getAnswer().getValue(), answerLangCode);
+        // Quizzes are locked before the flashcard's rows, the order submitAnswer takes them in.
+        if (flashcard.getUsageCount() > 0) {
+            final String previousNormalizedAnswer = flashcard.getAnswer().getNormalizedValue() != null
+                    ? flashcard.getAnswer().getNormalizedValue()
+                    : answerMatcher.normalize(flashcard.getAnswer().getValue(), answerLangCode);
+            if (normalizedAnswer.equals(previousNormalizedAnswer)) {
+                dataVersionService.flashcardChanged(id);
+            } else {
+                quizService.rescoreFlashcard(id, normalizedAnswer, answerLangCode);
+            }
+        }
 
+        flashcard.setQuestionHash(questionHash);
+        flashcard.setQuestionSortKey(questionSortKeys.sortKey(flashcardDto.getQuestion().getValue()));
         flashcard.getQuestion().setValue(flashcardDto.getQuestion().getValue());
         flashcard.getAnswer().setValue(flashcardDto.getAnswer().getValue());
+        flashcard.getAnswer().setNormalizedValue(normalizedAnswer);
 
-        flashcardRepository.save(flashcard);
+        saveCheckingQuestionUniqueness(flashcard, "Flashcard with inputted question already exists");
+        flashcardSearchIndex.put(username, toRow(flashcard));
+        dataVersionService.userDataChanged(username);
     }
 
+    // The usage count is checked by the delete itself, the question and answer rows go after the flashcard.
     @Transactional
     public void deleteFlashcardById(final int id, final String username) {
-        userRepository.findUserByUsername(username).orElseThrow(() -> new NotFoundException("User not found"));
-
-        flashcardRepository.findById(id).ifPresentOrElse(flashcard -> {
-            if (!flashcard.isUsed()) {
-                flashcardRepository.deleteById(id);
-            } else {
-                throw new BadRequestException("Flashcard is used in quiz - cannot be deleted");
+        final FlashcardPartsDto parts = flashcardRepository.findPartsByIdAndUsername(id, username)
+                .orElseThrow(() -> new NotFoundException("Flashcard not found"));
+        if (flashcardRepository.deleteUnusedByIdAndUsername(id, username) == 0) {
+            if (!flashcardRepository.existsByIdAndUsername(id, username)) {
+                throw new NotFoundException("Flashcard not found");
             }
-        }, () -> {
-            throw new NotFoundException("Flashcard not found");
-        });
+            throw new BadRequestException("Flashcard is used in quiz - cannot be deleted");
+        }
+        questionRepository.deleteQuestionById(parts.getQuestionId());
+        answerRepository.deleteAnswerById(parts.getAnswerId());
+        flashcardSearchIndex.remove(username, id);
+        dataVersionService.userDataChanged(username);
     }
 
     @Transactional(readOnly = true)
-    public List<FlashcardDto> sortFlashcards(final String questionLangCode, final String answerLangCode, final String username) {
-        final User user = userRepository.findUserByUsername(username).orElseThrow(() -> new NotFoundException("User not found"));
-
-        if (StringUtils.isBlank(questionLangCode) && StringUtils.isBlank(answerLangCode)) {
-            return flashcardRepository.findAllByUser(user).stream().map(FlashcardDto::createFrom).collect(Collectors.toList());
-        } else if (StringUtils.isBlank(questionLangCode) && StringUtils.isNotBlank(answerLangCode)) {
-            return flashcardRepository.findAllByUserAndAnswerLanguageLangCode(user, answerLangCode).stream().map(FlashcardDto::createFrom).collect(Collectors.toList());
-        } else if (StringUtils.isNotBlank(questionLangCode) && StringUtils.isBlank(answerLangCode)) {
-            return flashcardRepository.findAllByUserAndQuestionLanguageLangCode(user, questionLangCode).stream().map(FlashcardDto::createFrom).collect(Collectors.toList());
-        } else {
-            return flashcardRepository.findAllByUserAndQuestionLanguageLangCodeAndAnswerLanguageLangCode(user, questionLangCode, answerLangCode)
-                    .stream().map(FlashcardDto::createFrom).collect(Collectors.toList());
-        }
+    public PageDto<FlashcardDto> sortFlashcards(final String questionLangCode, final String answerLangCode,
+                                                final String questionPrefix, final String orderBy, final String direction,
+                                                final String cursor, final int size, final String username) {
+        final boolean descending = Sort.Direction.fromOptionalString(direction)
+                .orElseThrow(() -> new BadRequestException("Invalid direction")).isDescending();
+        return findFlashcardsPage(questionLangCode, answerLangCode, questionPrefix, FlashcardOrder.fromValue(orderBy),
+                descending, cursor, size, username);
     }
 
+    // Served from the in-memory trigram index, 1 statement only when the user's index has to be built.
     @Transactional(readOnly = true)
-    public List<FlashcardDto> searchFlashcards(final String questionLangCode, final String answerLangCode, final String questionQuery, final String username) {
-        final User user = userRepository.findUserByUsername(username).orElseThrow(() -> new NotFoundException("User not found"));
-
-        if (StringUtils.isBlank(questionLangCode) && StringUtils.isBlank(answerLangCode)) {
-            return flashcardRepository.findAllByUserAndQuestionContaining(user, questionQuery).stream().map(FlashcardDto::createFrom).collect(Collectors.toList());
-        } else if (StringUtils.isBlank(questionLangCode) && StringUtils.isNotBlank(answerLangCode)) {
-            return flashcardRepository.findAllByUserAndAnswerLangCodeAndQuestionContaining(user, questionQuery, answerLangCode).stream().map(FlashcardDto::createFrom).collect(Collectors.toList());
-        } else if (StringUtils.isNotBlank(questionLangCode) && StringUtils.isBlank(answerLangCode)) {
-            return flashcardRepository.findAllByUserAndQuestionLangCodeAndQuestionContaining(user, questionQuery, questionLangCode).stream().map(FlashcardDto::createFrom).collect(Collectors.toList());
-        } else {
-            return flashcardRepository.findAllByUserAndQuestionLangCodeAndAnswerLangCodeAndQuestionContaining(user, questionQuery, questionLangCode, answerLangCode)
-                    .stream().map(FlashcardDto::createFrom).collect(Collectors.toList());
+    public PageDto<FlashcardDto> searchFlashcards(final String questionLangCode, final String answerLangCode,
+                                                  final String questionQuery, final boolean includeAnswers,
+                                                  final String cursor, final int size, final String username) {
+        KeysetCursor.checkPageSize(size);
+        final OffsetCursor after = OffsetCursor.decode(cursor);
+        if (StringUtils.isBlank(questionQuery)) {
+            throw new BadRequestException("Query must not be blank");
+        }
+
+        final List<FlashcardRowDto> rows = flashcardSearchIndex.search(username, questionQuery, includeAnswers,
+                StringUtils.defaultIfBlank(questionLangCode, null), StringUtils.defaultIfBlank(answerLangCode, null));
+        return PageDto.createFrom(rows, after, size, FlashcardRowDto::toFlashcardDto);
+    }
+
+    private PageDto<FlashcardDto> findFlashcardsPage(final String questionLangCode, final String answerLangCode,
+                                                     final String questionPrefix, final FlashcardOrder order,
+                                                     final boolean descending, final String cursor, final int size,
+                                                     final String username) {
+        KeysetCursor.checkPageSize(size);
+        final FlashcardQuery query = FlashcardQuery.builder()
+                .username(username)
+                .questionLangCode(StringUtils.defaultIfBlank(questionLangCode, null))
+                .answerLangCode(StringUtils.defaultIfBlank(answerLangCode, null))
+                .questionSortKeyPrefix(StringUtils.defaultIfEmpty(questionSortKeys.sortKey(questionPrefix), null))
+                .order(order)
+                .descending(descending)
+                .after(FlashcardCursor.decode(cursor))
+                .limit(size + 1)
+                .build();
+
+        return PageDto.createFrom(flashcardRepository.findPage(query), size, FlashcardRowDto::toFlashcardDto,
+                row -> FlashcardCursor.of(row).encode());
+    }
+
+    private FlashcardRowDto toRow(final Flashcard flashcard) {
+        return new FlashcardRowDto(flashcard.getId(), flashcard.getQuestion().getValue(),
+                flashcard.getQuestion().getLanguage().getLangCode(), flashcard.getAnswer().getValue(),
+                flashcard.getAnswer().getLanguage().getLangCode(), flashcard.getCreationDate(),
+                flashcard.getQuestionSortKey());
+    }
+
+    // The exists check covers the common case; the unique index settles concurrent requests. The language comes from
+    // the catalog, which may not have seen another instance remove it yet, and then the foreign key rejects the row.
+    private void saveCheckingQuestionUniqueness(final Flashcard flashcard, final String conflictMessage) {
+        try {
+            flashcardRepository.saveAndFlush(flashcard);
+        } catch (final DataIntegrityViolationException e) {
+            final String sqlState = e.getMostSpecificCause() instanceof SQLException
+                    ? ((SQLException) e.getMostSpecificCause()).getSQLState() : null;
+            if (UNIQUE_VIOLATION.equals(sqlState)) {
+                throw new ConflictException(conflictMessage);
+            }
+            if (FOREIGN_KEY_VIOLATIONS.contains(sqlState)) {
+                throw new NotFoundException("Language not found");
+            }
+            throw e;
         }
     }
 }
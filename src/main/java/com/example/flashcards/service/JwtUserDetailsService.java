@@ -1,25 +1,43 @@
 package com.example.flashcards.service;
 
 import com.example.flashcards.model.User;
+import com.example.flashcards.model.jwt.AuthenticatedUser;
 import com.example.flashcards.repository.UserRepository;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class JwtUserDetailsService implements UserDetailsService {
 
     final UserRepository userRepository;
 
-    public JwtUserDetailsService(final UserRepository userRepository) {
+    // Details of recently authenticated users, without the password hash, so token checks skip the users table.
+    private final Cache<String, AuthenticatedUser> cachedUsers;
+
+    public JwtUserDetailsService(final UserRepository userRepository,
+                                 @Value("${jwt.user-cache.max-users:10000}") final long maxUsers,
+                                 @Value("${jwt.user-cache.expire-seconds:300}") final long expireSeconds) {
         this.userRepository = userRepository;
+        this.cachedUsers = CacheBuilder.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(expireSeconds, TimeUnit.SECONDS)
+                .build();
     }
 
     @Override
@@ -29,6 +47,37 @@ public class JwtUserDetailsService implements UserDetailsService {
         };
     }
 
+    // For requests that already carry a signed token; password checks must keep using loadUserByUsername.
+    public AuthenticatedUser loadCachedUserByUsername(final String username) throws UsernameNotFoundException {
+        try {
+            return cachedUsers.get(username, () -> createPrincipal(getUser(username)));
+        } catch (final ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    public AuthenticatedUser createPrincipal(final User user) {
+        return new AuthenticatedUser(user.getUsername(), getAuthorities(user));
+    }
+
+    // Called once the password change or removal has committed. Inside a transaction the entry is evicted again on
+    // completion, since a token check may re-cache the old row before that. Other instances keep theirs until
+    // jwt.user-cache.expire-seconds.
+    public void evict(final String username) {
+        cachedUsers.invalidate(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(final int status) {
+                    cachedUsers.invalidate(username);
+                }
+            });
+        }
+    }
+
     private Collection<? extends GrantedAuthority> getAuthorities(final User user) {
         return List.of(new SimpleGrantedAuthority(user.getRole().toUpperCase(Locale.ROOT)));
     }
@@ -0,0 +1,136 @@
+package com.example.flashcards.service;
+
+import com.example.flashcards.dto.flashcard.LanguageDto;
+import com.example.flashcards.model.Language;
+import com.example.flashcards.repository.LanguageRepository;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Immutable snapshot of all languages keyed by lang code, so resolving or listing languages costs no I/O.
+ * The snapshot is loaded with one query on first use and replaced as a whole after every language change committed
+ * through this instance; readers always see either the old or the new snapshot. Changes made through another instance
+ * are picked up by the first use after the snapshot turns max-age-minutes old: that caller reloads it while concurrent
+ * callers keep reading the old one. Until then a removed language still resolves, and the foreign key rejects
+ * flashcards written with it.
+ */
+@Component
+public class LanguageCatalog {
+
+    private final LanguageRepository languageRepository;
+    private final long maxAgeNanos;
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    public LanguageCatalog(final LanguageRepository languageRepository,
+                           @Value("${language.catalog.max-age-minutes:10}") final long maxAgeMinutes) {
+        this.languageRepository = languageRepository;
+        this.maxAgeNanos = TimeUnit.MINUTES.toNanos(maxAgeMinutes);
+    }
+
+    public List<LanguageDto> getLanguages() {
+        return snapshot().languages;
+    }
+
+    public Optional<LanguageDto> find(final String langCode) {
+        return Optional.ofNullable(langCode).map(snapshot().byLangCode::get).map(entry -> entry.language);
+    }
+
+    public Optional<Integer> findId(final String langCode) {
+        return Optional.ofNullable(langCode).map(snapshot().byLangCode::get).map(entry -> entry.id);
+    }
+
+    // A new detached instance on every call: Hibernate only needs its id for the foreign key, and nothing shared leaks
+    // into a persistence context.
+    public Optional<Language> findReference(final String langCode) {
+        return Optional.ofNullable(langCode).map(snapshot().byLangCode::get).map(entry -> Language.builder()
+                .id(entry.id).langCode(entry.language.getLangCode()).name(entry.language.getName()).build());
+    }
+
+    // Inside a transaction the reload waits for the commit, so the snapshot never shows uncommitted changes.
+    public void refresh() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reload();
+                }
+            });
+        } else {
+            reload();
+        }
+    }
+
+    // Loads right away, also inside a transaction; for data written around the service layer.
+    public void reload() {
+        snapshot.set(load());
+    }
+
+    // One caller loads an expired snapshot and the others keep the old one meanwhile; only the first use waits.
+    private Snapshot snapshot() {
+        final Snapshot current = snapshot.get();
+        if (current == null) {
+            return loadFirst();
+        }
+        if (System.nanoTime() - current.loadedAt < maxAgeNanos || !refreshing.compareAndSet(false, true)) {
+            return current;
+        }
+        try {
+            final Snapshot loaded = load();
+            return snapshot.compareAndSet(current, loaded) ? loaded : snapshot.get();
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    private synchronized Snapshot loadFirst() {
+        final Snapshot current = snapshot.get();
+        if (current != null) {
+            return current;
+        }
+        final Snapshot loaded = load();
+        snapshot.compareAndSet(null, loaded);
+        return snapshot.get();
+    }
+
+    private Snapshot load() {
+        final ImmutableMap.Builder<String, Entry> byLangCode = ImmutableMap.builder();
+        for (final Language language : languageRepository.findAll()) {
+            byLangCode.put(language.getLangCode(), new Entry(language.getId(), LanguageDto.createFrom(language)));
+        }
+        return new Snapshot(byLangCode.build(), System.nanoTime());
+    }
+
+    private static final class Snapshot {
+        private final ImmutableMap<String, Entry> byLangCode;
+        private final List<LanguageDto> languages;
+        private final long loadedAt;
+
+        private Snapshot(final ImmutableMap<String, Entry> byLangCode, final long loadedAt) {
+            this.byLangCode = byLangCode;
+            this.languages = byLangCode.values().stream().map(entry -> entry.language)
+                    .collect(ImmutableList.toImmutableList());
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    private static final class Entry {
+        private final Integer id;
+        private final LanguageDto language;
+
+        private Entry(final Integer id, final LanguageDto language) {
+            this.id = id;
+            this.language = language;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.flashcards.service;
+
+import com.example.flashcards.exception.ServiceUnavailableException;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Runs BCrypt on a small dedicated pool instead of the request threads, so a burst of logins or sign-ups cannot take
+ * every worker thread. Work beyond the pool and its queue, or waiting longer than the configured time, is rejected
+ * with 503 right away.
+ */
+@Component
+public class PasswordHasher {
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[aby]?\\$(\\d\\d)\\$");
+
+    private final PasswordEncoder passwordEncoder;
+    private final int strength;
+    private final long waitMillis;
+    private final ThreadPoolExecutor executor;
+    // Checked against when the user does not exist, so unknown usernames take as long as wrong passwords.
+    private final String dummyHash;
+
+    public PasswordHasher(final PasswordEncoder passwordEncoder,
+                          @Value("${security.password.bcrypt-strength:10}") final int strength,
+                          @Value("${security.password.threads:4}") final int threads,
+                          @Value("${security.password.queue-capacity:32}") final int queueCapacity,
+                          @Value("${security.password.wait-millis:3000}") final long waitMillis) {
+        this.passwordEncoder = passwordEncoder;
+        this.strength = strength;
+        this.waitMillis = waitMillis;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new ThreadFactoryBuilder().setNameFormat("password-hasher-%d").setDaemon(true).build());
+        this.dummyHash = passwordEncoder.encode("dummy-password");
+    }
+
+    public String encode(final String rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    public boolean matches(final String rawPassword, final String encodedPassword) {
+        if (encodedPassword == null) {
+            submit(() -> passwordEncoder.matches(rawPassword == null ? "" : rawPassword, dummyHash));
+            return false;
+        }
+        return rawPassword != null && submit(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    // Hashes made with another cost are replaced at the next successful login.
+    public boolean needsRehash(final String encodedPassword) {
+        final Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return !matcher.find() || Integer.parseInt(matcher.group(1)) != strength;
+    }
+
+    @VisibleForTesting
+    <T> T submit(final Callable<T> task) {
+        final Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (final RejectedExecutionException e) {
+            throw new ServiceUnavailableException("Too many password operations in progress, try again later");
+        }
+        try {
+            return future.get(waitMillis, TimeUnit.MILLISECONDS);
+        } catch (final TimeoutException e) {
+            future.cancel(true);
+            throw new ServiceUnavailableException("Too many password operations in progress, try again later");
+        } catch (final InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Password operation interrupted");
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.flashcards.service;
+
+import com.example.flashcards.dto.flashcard.FlashcardQuestionDto;
+import com.example.flashcards.repository.FlashcardRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Fills question_hash of flashcards created before the column existed. Questions that collide with
+ * another flashcard of the same user keep a null hash, since the unique index cannot hold both.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QuestionHashBackfill implements ApplicationRunner {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final FlashcardRepository flashcardRepository;
+    private final QuestionHasher questionHasher;
+
+    @Override
+    public void run(final ApplicationArguments args) {
+        int afterId = 0;
+        int skipped = 0;
+        List<FlashcardQuestionDto> flashcards;
+        do {
+            flashcards = flashcardRepository.findWithoutQuestionHash(afterId, PageRequest.of(0, BATCH_SIZE));
+            if (flashcards.isEmpty()) {
+                break;
+            }
+            final Map<FlashcardQuestionDto, Long> questionHashes = flashcards.stream().collect(Collectors.toMap(
+                    flashcard -> flashcard, flashcard -> questionHasher.hash(flashcard.getQuestion(), flashcard.getLangCode())));
+            skipped += flashcards.size() - flashcardRepository.updateQuestionHashes(questionHashes);
+            afterId = flashcards.get(flashcards.size() - 1).getId();
+        } while (flashcards.size() == BATCH_SIZE);
+
+        if (skipped > 0) {
+            log.warn("{} flashcards duplicate another question of their user and were left without question hash", skipped);
+        }
+    }
+}
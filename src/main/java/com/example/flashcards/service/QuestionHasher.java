@@ -0,0 +1,24 @@
+package com.example.flashcards.service;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Hash of the normalized question backing the unique (users, question_hash) index.
+ */
+@Component
+@RequiredArgsConstructor
+public class QuestionHasher {
+
+    private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+    private final AnswerMatcher answerMatcher;
+
+    public long hash(final String question, final String langCode) {
+        return HASH_FUNCTION.hashString(answerMatcher.normalize(question, langCode), StandardCharsets.UTF_8).asLong();
+    }
+}
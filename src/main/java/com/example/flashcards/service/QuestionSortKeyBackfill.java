@@ -0,0 +1,41 @@
+package com.example.flashcards.service;
+
+import com.example.flashcards.dto.flashcard.FlashcardQuestionDto;
+import com.example.flashcards.repository.FlashcardRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Fills question_sort_key of flashcards created before the column existed.
+ */
+@Component
+@RequiredArgsConstructor
+public class QuestionSortKeyBackfill implements ApplicationRunner {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final FlashcardRepository flashcardRepository;
+    private final QuestionSortKeys questionSortKeys;
+
+    @Override
+    public void run(final ApplicationArguments args) {
+        int afterId = 0;
+        List<FlashcardQuestionDto> flashcards;
+        do {
+            flashcards = flashcardRepository.findWithoutQuestionSortKey(afterId, PageRequest.of(0, BATCH_SIZE));
+            if (flashcards.isEmpty()) {
+                break;
+            }
+            flashcardRepository.updateQuestionSortKeys(flashcards.stream().collect(Collectors.toMap(
+                    FlashcardQuestionDto::getId, flashcard -> questionSortKeys.sortKey(flashcard.getQuestion()))));
+            afterId = flashcards.get(flashcards.size() - 1).getId();
+        } while (flashcards.size() == BATCH_SIZE);
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.flashcards.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Language independent normalized question stored in flashcard.question_sort_key, so listings order questions
+ * ignoring case and diacritics and match question prefixes on an index.
+ */
+@Component
+@RequiredArgsConstructor
+public class QuestionSortKeys {
+
+    private static final int MAX_LENGTH = 255;
+
+    private final AnswerMatcher answerMatcher;
+
+    public String sortKey(final String question) {
+        final String normalized = answerMatcher.normalize(question, null);
+        return normalized == null || normalized.length() <= MAX_LENGTH ? normalized : normalized.substring(0, MAX_LENGTH);
+    }
+}
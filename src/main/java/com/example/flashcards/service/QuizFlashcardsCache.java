@@ -0,0 +1,51 @@
+package com.example.flashcards.service;
+
+import com.example.flashcards.dto.quiz.QuizFlashcardTextDto;
+import com.example.flashcards.repository.QuizFlashcardsRepository;
+import com.google.common.collect.ImmutableMap;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Question and answer texts of each quiz's flashcards, so viewing a quiz reads only the answers.
+ * Entries are keyed by quiz id and {@code quiz.flashcards_version}, which every instance bumps in the transaction that
+ * changes the texts, and the version comes from the quiz row the request reads anyway. An entry is therefore never
+ * served for a newer version than it was loaded for, whichever instance made the change; superseded entries are not
+ * evicted but simply stop being asked for and expire (see ehcache.xml).
+ */
+@Component
+public class QuizFlashcardsCache {
+
+    public static final String CACHE_NAME = "quizFlashcards";
+
+    private final QuizFlashcardsRepository quizFlashcardsRepository;
+    private final Cache cache;
+
+    public QuizFlashcardsCache(final QuizFlashcardsRepository quizFlashcardsRepository, final CacheManager cacheManager) {
+        this.quizFlashcardsRepository = quizFlashcardsRepository;
+        this.cache = cacheManager.getCache(CACHE_NAME);
+    }
+
+    // Texts by flashcard id, 1 statement on a miss.
+    public Map<Integer, QuizFlashcardTextDto> getTexts(final int quizId, final long flashcardsVersion) {
+        return cache.get(new SimpleKey(quizId, flashcardsVersion), () -> load(quizId));
+    }
+
+    // For when the answers name a flashcard the cached texts do not have: the texts were loaded by a transaction
+    // that read the quiz before a concurrent edit committed and the flashcards after it.
+    public Map<Integer, QuizFlashcardTextDto> reloadTexts(final int quizId, final long flashcardsVersion) {
+        final Map<Integer, QuizFlashcardTextDto> texts = load(quizId);
+        cache.put(new SimpleKey(quizId, flashcardsVersion), texts);
+        return texts;
+    }
+
+    private Map<Integer, QuizFlashcardTextDto> load(final int quizId) {
+        final ImmutableMap.Builder<Integer, QuizFlashcardTextDto> texts = ImmutableMap.builder();
+        quizFlashcardsRepository.findTextsByQuizId(quizId).forEach(text -> texts.put(text.getFlashcardId(), text));
+        return texts.build();
+    }
+}
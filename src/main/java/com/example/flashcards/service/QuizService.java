@@ -1,19 +1,26 @@
 package com.example.flashcards.service;
 
+import com.example.flashcards.dto.KeysetCursor;
+import com.example.flashcards.dto.PageDto;
+import com.example.flashcards.dto.flashcard.FlashcardScheduleDto;
 import com.example.flashcards.dto.quiz.*;
+import com.example.flashcards.exception.ConflictException;
 import com.example.flashcards.exception.NotFoundException;
 import com.example.flashcards.model.*;
 import com.example.flashcards.repository.FlashcardRepository;
 import com.example.flashcards.repository.QuizFlashcardsRepository;
 import com.example.flashcards.repository.QuizRepository;
-import com.example.flashcards.repository.UserRepository;
 import com.example.flashcards.validation.QuizValidator;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Sets;
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -21,44 +28,42 @@ import java.util.stream.Collectors;
 public class QuizService {
 
     private final FlashcardRepository flashcardRepository;
-    private final UserRepository userRepository;
     private final QuizRepository quizRepository;
     private final QuizFlashcardsRepository quizFlashcardsRepository;
     private final QuizValidator quizValidator;
+    private final AnswerMatcher answerMatcher;
+    private final SpacedRepetitionScheduler spacedRepetitionScheduler;
+    private final DataVersionService dataVersionService;
+    private final QuizFlashcardsCache quizFlashcardsCache;
 
+    // 1 statement: keyset page projected straight into QuizDto.
     @Transactional(readOnly = true)
-    public List<QuizDto> getAll(final String username) {
-        final User user = userRepository.findUserByUsername(username).orElseThrow(() -> new NotFoundException("User not found"));
-        final List<Quiz> quizzes = quizRepository.findAllByUser(user);
-        return quizzes.stream().map(QuizDto::createFrom).collect(Collectors.toList());
+    public PageDto<QuizDto> getAll(final String cursor, final int size, final String username) {
+        final Pageable pageable = KeysetCursor.pageRequest(size);
+        final KeysetCursor after = KeysetCursor.decode(cursor);
+
+        final List<QuizDto> quizzes = quizRepository.findPageByUsername(username, after.getCreationDate(), after.getId(), pageable);
+        return PageDto.createFrom(quizzes, size, Function.identity(),
+                quiz -> KeysetCursor.of(quiz.getCreationDate(), quiz.getId()).encode());
     }
 
     @Transactional
     public QuizDto createQuiz(final QuizCreateDto quizCreateDto, final String username) {
         quizValidator.validateQuizCreateParameters(quizCreateDto);
 
-        final User user = userRepository.findUserByUsername(username).orElseThrow(() -> new NotFoundException("User not found"));
-
-        final Set<Flashcard> flashcards = quizCreateDto.getFlashcardsId().stream()
-                .map(f -> flashcardRepository.findById(f).orElseThrow(() -> new NotFoundException("Flashcard not found")))
-                .peek(flashcard -> {
-                    flashcard.setUsed(true);
-                    flashcardRepository.save(flashcard);
-                })
-                .collect(Collectors.toSet());
+        final Set<Integer> flashcardsIds = quizCreateDto.getFlashcardsId();
+        checkFlashcardsOwnership(flashcardsIds, username);
+        flashcardRepository.adjustUsageCount(flashcardsIds, 1);
 
         final Quiz quiz = Quiz.builder()
                 .name(quizCreateDto.getName())
-                .user(user)
-                .quizFlashcards(new HashSet<>())
+                .username(username)
+                .creationDate(new Timestamp(System.currentTimeMillis()))
+                .flashcardsCount(flashcardsIds.size())
                 .build();
-        quizRepository.save(quiz);
-
-        final Set<QuizFlashcard> quizFlashcards = new HashSet<>();
-        flashcards.forEach(flashcard -> quizFlashcards.add(buildQuizFlashcard(quiz, flashcard)));
-        quizFlashcardsRepository.saveAll(quizFlashcards);
-        quiz.setQuizFlashcards(quizFlashcards);
-        quizRepository.save(quiz);
+        quizRepository.saveAndFlush(quiz);
+        quizFlashcardsRepository.insertAll(quiz.getId(), flashcardsIds);
+        dataVersionService.userDataChanged(username);
 
         return QuizDto.createFrom(quiz);
     }
@@ -66,103 +71,228 @@ public class QuizService {
     @Transactional
     public void editQuiz(final int id, final QuizEditDto quizEditDto, final String username) {
         quizValidator.validateQuizEditParameters(quizEditDto);
-        userRepository.findUserByUsername(username).orElseThrow(() -> new NotFoundException("User not found"));
-
-        final Quiz quiz = quizRepository.findById(id).orElseThrow(() -> new NotFoundException("Quiz not found"));
+        // Locked, so an overlapping edit computes its diff from this one's result and never releases a card twice.
+        final Quiz quiz = quizRepository.findLockedByIdAndUsername(id, username).orElseThrow(() -> new NotFoundException("Quiz not found"));
 
         final Set<Integer> currentFlashcardsIds = quizFlashcardsRepository.findFlashcardsIdByQuizId(id);
         final Sets.SetView<Integer> flashcardsIdsToRemove = Sets.difference(currentFlashcardsIds, quizEditDto.getFlashcardsId());
         final Sets.SetView<Integer> flashcardsIdsToAdd = Sets.difference(quizEditDto.getFlashcardsId(), currentFlashcardsIds);
 
-        flashcardsIdsToRemove.forEach(f -> quizFlashcardsRepository.findByQuizIdAndFlashcardId(id, f).ifPresentOrElse(qf -> {
-            if (quizFlashcardsRepository.findByFlashcardId(qf.getFlashcard().getId()).isEmpty()
-                    || quizFlashcardsRepository.findByFlashcardId(qf.getFlashcard().getId()).contains(qf)) {
-                qf.getFlashcard().setUsed(false);
-                flashcardRepository.save(qf.getFlashcard());
-            }
-            quizFlashcardsRepository.deleteById(qf.getId());
-        }, () -> {
-            throw new NotFoundException("Flashcard not found");
-        }));
-
-        final List<QuizFlashcard> quizFlashcards = new ArrayList<>();
-        flashcardsIdsToAdd.forEach(f -> flashcardRepository.findById(f).ifPresentOrElse(flashcard -> {
-            flashcard.setUsed(true);
-            flashcardRepository.save(flashcard);
-            quizFlashcards.add(buildQuizFlashcard(quiz, flashcard));
-        }, () -> {
-            throw new NotFoundException("Flashcard not found");
-        }));
+        if (!flashcardsIdsToAdd.isEmpty()) {
+            checkFlashcardsOwnership(flashcardsIdsToAdd, username);
+        }
+        if (!flashcardsIdsToRemove.isEmpty()) {
+            quizFlashcardsRepository.deleteByQuizIdAndFlashcardIdIn(id, flashcardsIdsToRemove);
+            flashcardRepository.adjustUsageCount(flashcardsIdsToRemove, -1);
+        }
+        if (!flashcardsIdsToAdd.isEmpty()) {
+            quizFlashcardsRepository.insertAll(id, flashcardsIdsToAdd);
+            flashcardRepository.adjustUsageCount(flashcardsIdsToAdd, 1);
+        }
 
-        quizFlashcardsRepository.saveAll(quizFlashcards);
         quiz.setName(quizEditDto.getName());
-        if (!flashcardsIdsToAdd.isEmpty() || !flashcardsIdsToRemove.isEmpty()) {
+        final boolean flashcardsChanged = !flashcardsIdsToAdd.isEmpty() || !flashcardsIdsToRemove.isEmpty();
+        if (flashcardsChanged) {
+            final QuizScoreDto quizScore = quizFlashcardsRepository.calculateScore(id);
+            quiz.setFlashcardsCount(quizScore.getTotal().intValue());
+            quiz.setAnsweredCount(quizScore.getAnswered().intValue());
+            quiz.setCorrectCount(quizScore.getCorrect().intValue());
             quiz.setScore(null);
         }
         quizRepository.save(quiz);
+        if (flashcardsChanged) {
+            dataVersionService.quizFlashcardsChanged(id);
+        } else {
+            dataVersionService.quizChanged(id);
+        }
+        dataVersionService.userDataChanged(username);
     }
 
+    // 2 statements: quiz row and answers, both as projections so the owner is never loaded; flashcard texts are cached.
     @Transactional(readOnly = true)
     public QuizDetailsDto getQuizDetails(final int id, final String username) {
-        userRepository.findUserByUsername(username).orElseThrow(() -> new NotFoundException("User not found"));
-        final Quiz quiz = quizRepository.findById(id).orElseThrow(() -> new NotFoundException("Quiz not found"));
-        return QuizDetailsDto.createFrom(quiz, flashcardRepository.findAllByQuizId(id));
+        final QuizRowDto quiz = quizRepository.findRowByIdAndUsername(id, username).orElseThrow(() -> new NotFoundException("Quiz not found"));
+        return QuizDetailsDto.createFrom(quiz, findFlashcardRows(quiz));
     }
 
     @Transactional
     public void solveQuiz(final Integer id, final List<QuizSolveDto> quizSolveDtos, final String username) {
         quizSolveDtos.forEach(quizValidator::validateQuizSolveParameters);
-        userRepository.findUserByUsername(username).orElseThrow(() -> new NotFoundException("User not found"));
+        // Locked before the answers are read: the counters below are written as absolute values, and submitAnswer
+        // takes the same lock before it changes an answer, so none of its deltas can be overwritten.
+        final Quiz quiz = quizRepository.findLockedByIdAndUsername(id, username).orElseThrow(() -> new NotFoundException("Quiz not found"));
 
-        final Quiz quiz = quizRepository.findById(id).orElseThrow(() -> new NotFoundException("Quiz not found"));
+        final Map<Integer, QuizAnswerStateDto> answerStates = quizFlashcardsRepository.findAnswerStatesByQuizId(id).stream()
+                .collect(Collectors.toMap(QuizAnswerStateDto::getFlashcardId, Function.identity()));
 
-        quizSolveDtos.forEach(qs -> {
-            final QuizFlashcard quizFlashcard = quizFlashcardsRepository.findByQuizIdAndFlashcardId(id, qs.getFlashcardId()).orElseThrow(() -> new NotFoundException("Flashcard for quiz not found"));
-            quizFlashcard.setUserAnswer(qs.getUserAnswer());
-            quizFlashcardsRepository.save(quizFlashcard);
+        final Map<Integer, String> userAnswers = new HashMap<>();
+        quizSolveDtos.forEach(qs -> userAnswers.put(qs.getFlashcardId(), qs.getUserAnswer()));
+        final Set<Integer> correctFlashcardsIds = new HashSet<>();
+        userAnswers.forEach((flashcardId, userAnswer) -> {
+            final QuizAnswerStateDto answerState = answerStates.get(flashcardId);
+            if (answerState == null) {
+                throw new NotFoundException("Flashcard for quiz not found");
+            }
+            if (isCorrect(answerState, userAnswer)) {
+                correctFlashcardsIds.add(flashcardId);
+            }
         });
+        if (quizFlashcardsRepository.updateUserAnswers(id, userAnswers, correctFlashcardsIds) != userAnswers.size()) {
+            throw new NotFoundException("Flashcard for quiz not found");
+        }
+
+        final Date reviewDate = new Date();
+        final List<FlashcardScheduleDto> schedules = new ArrayList<>();
+        userAnswers.forEach((flashcardId, userAnswer) -> {
+            if (userAnswer != null) {
+                schedules.add(review(answerStates.get(flashcardId), correctFlashcardsIds.contains(flashcardId), reviewDate));
+            }
+        });
+        flashcardRepository.updateSchedules(schedules);
+
+        long answered = 0;
+        long correct = 0;
+        for (final QuizAnswerStateDto answerState : answerStates.values()) {
+            final Integer flashcardId = answerState.getFlashcardId();
+            if (userAnswers.containsKey(flashcardId)) {
+                answered += userAnswers.get(flashcardId) != null ? 1 : 0;
+                correct += correctFlashcardsIds.contains(flashcardId) ? 1 : 0;
+            } else {
+                answered += answerState.getUserAnswer() != null ? 1 : 0;
+                correct += answerState.isCorrect() ? 1 : 0;
+            }
+        }
 
-        quiz.setScore(calculateResult(quiz));
+        final QuizScoreDto quizScore = new QuizScoreDto((long) answerStates.size(), answered, correct);
+        quiz.setFlashcardsCount(quizScore.getTotal().intValue());
+        quiz.setAnsweredCount(quizScore.getAnswered().intValue());
+        quiz.setCorrectCount(quizScore.getCorrect().intValue());
+        quiz.setScore(quizScore.toPercent());
         quizRepository.save(quiz);
+        dataVersionService.quizChanged(id);
+        dataVersionService.userDataChanged(username);
+    }
+
+    // Reads the card's answer once and applies the change as deltas, never rescoring the whole quiz. Bumping the quiz
+    // version locks the quiz first, as solveQuiz, resetAnswers and rescoreFlashcard do, so the verdict and the correct
+    // answer the deltas come from cannot change before they are written.
+    @Transactional
+    public QuizAnswerResultDto submitAnswer(final Integer id, final QuizSolveDto quizSolveDto, final String username) {
+        quizValidator.validateQuizSolveParameters(quizSolveDto);
+        if (quizRepository.incrementDataVersionByIdAndUsername(id, username) == 0) {
+            throw new NotFoundException("Quiz not found");
+        }
+
+        final Integer flashcardId = quizSolveDto.getFlashcardId();
+        final QuizAnswerStateDto answerState = quizFlashcardsRepository.findAnswerState(id, flashcardId, username)
+                .orElseThrow(() -> new NotFoundException("Flashcard for quiz not found"));
+
+        final boolean wasAnswered = answerState.getUserAnswer() != null;
+        final boolean isCorrect = isCorrect(answerState, quizSolveDto.getUserAnswer());
+
+        final int answeredDelta = (quizSolveDto.getUserAnswer() != null ? 1 : 0) - (wasAnswered ? 1 : 0);
+        final int correctDelta = (isCorrect ? 1 : 0) - (answerState.isCorrect() ? 1 : 0);
+        quizRepository.addAnswerToScore(id, answeredDelta, correctDelta);
+        if (quizFlashcardsRepository.replaceUserAnswer(id, flashcardId, answerState.getUserAnswer(),
+                quizSolveDto.getUserAnswer(), isCorrect) == 0) {
+            throw new ConflictException("Answer was changed concurrently");
+        }
+        if (quizSolveDto.getUserAnswer() != null) {
+            flashcardRepository.updateSchedules(List.of(review(answerState, isCorrect, new Date())));
+        }
+        dataVersionService.userDataChanged(username);
+
+        return QuizAnswerResultDto.builder()
+                .flashcardId(flashcardId)
+                .correct(isCorrect)
+                .correctAnswer(answerState.getCorrectAnswer())
+                .build();
+    }
+
+    // Called when a flashcard's answer changes. Bumping the versions of the quizzes containing it locks them before
+    // their answers are read, as the other quiz writers do; then the answers whose verdict flipped are updated and
+    // each of their quizzes moves its counters by one. 1 statement more than the version bump, plus 2 per direction.
+    @Transactional
+    public void rescoreFlashcard(final int flashcardId, final String normalizedAnswer, final String langCode) {
+        dataVersionService.flashcardChanged(flashcardId);
+        final Map<Boolean, List<Integer>> flippedQuizzesIds = quizFlashcardsRepository.findUserAnswersByFlashcardId(flashcardId)
+                .stream()
+                .filter(answer -> answerMatcher.matches(normalizedAnswer,
+                        answerMatcher.normalize(answer.getUserAnswer(), langCode)) != answer.isCorrect())
+                .collect(Collectors.partitioningBy(answer -> !answer.isCorrect(),
+                        Collectors.mapping(QuizUserAnswerDto::getQuizId, Collectors.toList())));
+        flippedQuizzesIds.forEach((correct, quizzesIds) -> {
+            if (!quizzesIds.isEmpty()) {
+                quizFlashcardsRepository.updateCorrect(flashcardId, quizzesIds, correct);
+                quizRepository.addCorrectToScores(quizzesIds, correct ? 1 : -1);
+            }
+        });
+    }
+
+    @Transactional
+    public void resetAnswers(final Integer id, final String username) {
+        if (quizRepository.resetScore(id, username) == 0) {
+            throw new NotFoundException("Quiz not found");
+        }
+        quizFlashcardsRepository.clearUserAnswers(id);
+        dataVersionService.userDataChanged(username);
     }
 
+    // 2 statements: quiz row with its running counters, then the answers as one projection; flashcard texts are cached.
     @Transactional(readOnly = true)
     public QuizResultDto getResults(final int id, final String username) {
-        userRepository.findUserByUsername(username).orElseThrow(() -> new NotFoundException("User not found"));
-        final Quiz quiz = quizRepository.findById(id).orElseThrow(() -> new NotFoundException("Quiz not found"));
-        return QuizResultDto.createFrom(quiz, quizFlashcardsRepository.findByQuizId(id));
+        final QuizRowDto quiz = quizRepository.findRowByIdAndUsername(id, username).orElseThrow(() -> new NotFoundException("Quiz not found"));
+        return QuizResultDto.createFrom(quiz, findFlashcardRows(quiz));
     }
 
+    @Transactional
     public void deleteQuizById(final int id, final String username) {
-        userRepository.findUserByUsername(username).orElseThrow(() -> new NotFoundException("User not found"));
-
-        quizRepository.findById(id).ifPresentOrElse(quiz -> quiz.getQuizFlashcards().forEach(qf -> {
-            if (quizFlashcardsRepository.findByFlashcardId(qf.getFlashcard().getId()).isEmpty()
-                    || quizFlashcardsRepository.findByFlashcardId(qf.getFlashcard().getId()).contains(qf)) {
-                qf.getFlashcard().setUsed(false);
-                flashcardRepository.save(qf.getFlashcard());
-            }}), () -> {
-            throw new NotFoundException("Quiz not found");
-        });
-        quizRepository.deleteById(id);
+        // Locked like in editQuiz, so the flashcards released are the ones an overlapping edit left in the quiz.
+        quizRepository.findLockedByIdAndUsername(id, username).orElseThrow(() -> new NotFoundException("Quiz not found"));
+        flashcardRepository.releaseByQuizIdAndUsername(id, username);
+        quizFlashcardsRepository.deleteByQuizIdAndUsername(id, username);
+        quizRepository.deleteQuizByIdAndUsername(id, username);
+        dataVersionService.userDataChanged(username);
+    }
 
+    @VisibleForTesting
+    FlashcardScheduleDto review(final QuizAnswerStateDto answerState, final boolean correct, final Date reviewDate) {
+        return spacedRepetitionScheduler.review(answerState.getFlashcardId(), answerState.getEaseFactor(),
+                answerState.getReviewInterval(), answerState.getRepetitions(), correct, reviewDate);
     }
 
-    private QuizFlashcard buildQuizFlashcard(final Quiz quiz, final Flashcard flashcard) {
-        return QuizFlashcard.builder()
-                .id(new QuizFlashcardsKey(quiz.getId(), flashcard.getId()))
-                .quiz(quiz)
-                .flashcard(flashcard)
-                .userAnswer(null)
-                .build();
+    // Answers saved before normalized_value existed are normalized on the fly.
+    @VisibleForTesting
+    boolean isCorrect(final QuizAnswerStateDto answerState, final String userAnswer) {
+        final String normalizedCorrectAnswer = answerState.getNormalizedCorrectAnswer() != null
+                ? answerState.getNormalizedCorrectAnswer()
+                : answerMatcher.normalize(answerState.getCorrectAnswer(), answerState.getLangCode());
+        return answerMatcher.matches(normalizedCorrectAnswer, answerMatcher.normalize(userAnswer, answerState.getLangCode()));
     }
 
-    private int calculateResult(final Quiz quiz) {
-        final long correct = quizFlashcardsRepository.findByQuizId(quiz.getId()).stream()
-                .filter(qf -> qf.getFlashcard().getAnswer().getValue().equalsIgnoreCase(qf.getUserAnswer())).count();
+    // The answers decide which flashcards belong to the quiz, so cached texts missing one of them are reloaded.
+    private List<QuizFlashcardRowDto> findFlashcardRows(final QuizRowDto quiz) {
+        final List<QuizFlashcardAnswerDto> answers = quizFlashcardsRepository.findAnswersByQuizId(quiz.getId());
+        Map<Integer, QuizFlashcardTextDto> texts = quizFlashcardsCache.getTexts(quiz.getId(), quiz.getFlashcardsVersion());
+        if (!answers.stream().map(QuizFlashcardAnswerDto::getFlashcardId).allMatch(texts::containsKey)) {
+            texts = quizFlashcardsCache.reloadTexts(quiz.getId(), quiz.getFlashcardsVersion());
+        }
+
+        final List<QuizFlashcardRowDto> rows = new ArrayList<>(answers.size());
+        for (final QuizFlashcardAnswerDto answer : answers) {
+            final QuizFlashcardTextDto text = texts.get(answer.getFlashcardId());
+            if (text != null) {
+                rows.add(new QuizFlashcardRowDto(text.getFlashcardId(), text.getQuestion(), text.getQuestionLangCode(),
+                        text.getCorrectAnswer(), answer.getUserAnswer(), answer.isCorrect()));
+            }
+        }
+        return rows;
+    }
 
-        return ((int) correct * 100) / quiz.getQuizFlashcards().size();
+    private void checkFlashcardsOwnership(final Set<Integer> flashcardsIds, final String username) {
+        final Set<Integer> ownedFlashcardsIds = flashcardRepository.findIdsByIdInAndUsername(flashcardsIds, username);
+        if (ownedFlashcardsIds.size() != flashcardsIds.size()) {
+            throw new NotFoundException("Flashcard not found");
+        }
     }
 }
-
-
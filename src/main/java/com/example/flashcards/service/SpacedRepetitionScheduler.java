@@ -0,0 +1,43 @@
+package com.example.flashcards.service;
+
+import com.example.flashcards.dto.flashcard.FlashcardScheduleDto;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SM-2 scheduling. A correct answer is graded 4 ("correct after hesitation"), a wrong one 1, which restarts the card.
+ */
+@Component
+public class SpacedRepetitionScheduler {
+
+    private static final double MINIMAL_EASE_FACTOR = 1.3;
+    private static final int CORRECT_GRADE = 4;
+    private static final int WRONG_GRADE = 1;
+
+    public FlashcardScheduleDto review(final Integer flashcardId, final double easeFactor, final int reviewInterval,
+                                       final int repetitions, final boolean correct, final Date reviewDate) {
+        final int grade = correct ? CORRECT_GRADE : WRONG_GRADE;
+        final double nextEaseFactor = Math.max(MINIMAL_EASE_FACTOR,
+                easeFactor + 0.1 - (5 - grade) * (0.08 + (5 - grade) * 0.02));
+
+        final int nextRepetitions = correct ? repetitions + 1 : 0;
+        final int nextInterval;
+        if (nextRepetitions <= 1) {
+            nextInterval = 1;
+        } else if (nextRepetitions == 2) {
+            nextInterval = 6;
+        } else {
+            nextInterval = (int) Math.round(reviewInterval * nextEaseFactor);
+        }
+
+        return FlashcardScheduleDto.builder()
+                .flashcardId(flashcardId)
+                .easeFactor(nextEaseFactor)
+                .reviewInterval(nextInterval)
+                .repetitions(nextRepetitions)
+                .nextDue(new Date(reviewDate.getTime() + TimeUnit.DAYS.toMillis(nextInterval)))
+                .build();
+    }
+}
@@ -13,12 +13,7 @@ import com.example.flashcards.model.jwt.JwtRequest;
 import com.example.flashcards.repository.UserRepository;
 import com.example.flashcards.validation.UserValidator;
 import lombok.AllArgsConstructor;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.authentication.DisabledException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,43 +23,59 @@ public class UserService {
 
     private final JwtUserDetailsService userDetailsService;
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final UserValidator userValidator;
-    private AuthenticationManager authenticationManager;
+    private final FlashcardSearchIndex flashcardSearchIndex;
     private JwtTokenUtil jwtTokenUtil;
 
-    @Transactional
+    // Not transactional: BCrypt can wait seconds for the hashing pool, so no connection is held while it runs.
+    // The existence check and the insert are a statement each, and the unique indexes settle concurrent sign-ups.
     public void createNewUser(final UserDto userDto) {
         userValidator.validateUserCreateParameters(userDto);
-        userDto.setPassword(passwordEncoder.encode(userDto.getPassword()));
-        userRepository.findUserByUsernameOrEmail(userDto.getUsername(), userDto.getEmail()).ifPresentOrElse(user -> {
+        if (userRepository.findUserByUsernameOrEmail(userDto.getUsername(), userDto.getEmail()).isPresent()) {
             throw new ConflictException("User already exist");
-        }, () -> {
-            final User user = User.builder()
-                    .username(userDto.getUsername())
-                    .email(userDto.getEmail())
-                    .password(userDto.getPassword())
-                    .role("USER")
-                    .build();
+        }
+        userDto.setPassword(passwordHasher.encode(userDto.getPassword()));
+        final User user = User.builder()
+                .username(userDto.getUsername())
+                .email(userDto.getEmail())
+                .password(userDto.getPassword())
+                .role("USER")
+                .build();
+        try {
             userRepository.save(user);
-        });
+        } catch (final DataIntegrityViolationException e) {
+            throw new ConflictException("User already exist");
+        }
     }
 
-    @Transactional
+    // Hashes between two single statement transactions, see createNewUser.
     public void changePassword(final String username, final UserPasswordDto userPasswordDto) {
         final User user = userRepository.findUserByUsername(username).orElseThrow(() -> new NotFoundException("User not found"));
-        userValidator.validateChangePasswordParameters(userPasswordDto, user.getPassword());
+        userValidator.validateChangePasswordParameters(userPasswordDto,
+                passwordHasher.matches(userPasswordDto.getOldPassword(), user.getPassword()));
 
-        userPasswordDto.setPassword(passwordEncoder.encode(userPasswordDto.getPassword()));
-        user.setPassword(userPasswordDto.getPassword());
-        userRepository.save(user);
+        userPasswordDto.setPassword(passwordHasher.encode(userPasswordDto.getPassword()));
+        if (userRepository.replacePassword(username, user.getPassword(), userPasswordDto.getPassword()) == 0) {
+            throw new ConflictException("Password was changed concurrently");
+        }
+        userDetailsService.evict(username);
     }
 
+    // 1 statement, plus an update when the stored hash was made with another cost. Hashes outside of a transaction,
+    // see createNewUser; a rehash losing to a concurrent password change is dropped.
     public UserLoginDto loginAndCreateToken(final JwtRequest authenticationRequest) {
-        authenticate(authenticationRequest.getUsername(), authenticationRequest.getPassword());
-        final UserDetails userDetails = userDetailsService.loadUserByUsername(authenticationRequest.getUsername());
-        final User user = userRepository.findUserByUsername(authenticationRequest.getUsername()).orElseThrow(() -> new NotFoundException("User not found"));
-        return UserLoginDto.createFrom(user, jwtTokenUtil.generateToken(userDetails));
+        final User user = userRepository.findUserByUsername(authenticationRequest.getUsername()).orElse(null);
+        if (!passwordHasher.matches(authenticationRequest.getPassword(), user == null ? null : user.getPassword())) {
+            throw new BadRequestException("INVALID_CREDENTIALS");
+        }
+        if (passwordHasher.needsRehash(user.getPassword())) {
+            final String password = passwordHasher.encode(authenticationRequest.getPassword());
+            if (userRepository.replacePassword(user.getUsername(), user.getPassword(), password) == 1) {
+                user.setPassword(password);
+            }
+        }
+        return UserLoginDto.createFrom(user, jwtTokenUtil.generateToken(userDetailsService.createPrincipal(user)));
     }
 
     @Transactional(readOnly = true)
@@ -72,17 +83,9 @@ public class UserService {
         return UserDetailsDto.createFrom(userRepository.findUserByUsername(username).orElseThrow(() -> new NotFoundException("User not found")));
     }
 
-    private void authenticate(final String username, final String password) {
-        try {
-            authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(username, password));
-        } catch (DisabledException e) {
-            throw new BadRequestException("USER_DISABLED");
-        } catch (BadCredentialsException e) {
-            throw new BadRequestException("INVALID_CREDENTIALS");
-        }
-    }
-
     public void removeUser(final String username) {
         userRepository.deleteByUsername(username);
+        userDetailsService.evict(username);
+        flashcardSearchIndex.invalidate(username);
     }
 }
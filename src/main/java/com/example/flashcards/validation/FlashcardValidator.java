@@ -1,18 +1,9 @@
 package com.example.flashcards.validation;
 
 import com.example.flashcards.dto.flashcard.FlashcardDto;
-import com.example.flashcards.exception.InvalidArgumentException;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.stereotype.Component;
-import org.springframework.validation.FieldError;
-
-import java.util.Collections;
-import java.util.List;
-import java.util.Objects;
-import java.util.Optional;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 @Component
 @RequiredArgsConstructor
@@ -22,41 +13,27 @@ public class FlashcardValidator {
     private static final int MAX_NAME_LENGTH = 32;
     private static final int LANG_CODE_LENGTH = 3;
 
-    public void validateFlashcardParameters(final FlashcardDto flashcardDto) {
-        final List<FieldError> fieldErrorList = getFieldErrors(flashcardDto);
-
-        if (!fieldErrorList.isEmpty()) {
-            throw new InvalidArgumentException(fieldErrorList);
-        }
-    }
-
-    private List<FieldError> getFieldErrors(final FlashcardDto flashcardDto) {
+    private static final ValidationRules<FlashcardDto> FLASHCARD_RULES = ValidationRules.<FlashcardDto>builder()
+            .rule("String", "value", flashcard -> flashcard.getQuestion().getValue(),
+                    flashcard -> isValidValue(flashcard.getQuestion().getValue()), "Invalid name")
+            .rule("String", "langCode", flashcard -> flashcard.getQuestion().getLangCode(),
+                    flashcard -> isValidLangCode(flashcard.getQuestion().getLangCode()), "Invalid langCode")
+            .rule("String", "value", flashcard -> flashcard.getAnswer().getValue(),
+                    flashcard -> isValidValue(flashcard.getAnswer().getValue()), "Invalid name")
+            .rule("String", "langCode", flashcard -> flashcard.getAnswer().getLangCode(),
+                    flashcard -> isValidLangCode(flashcard.getAnswer().getLangCode()), "Invalid langCode")
+            .build();
 
-        return Optional.ofNullable(flashcardDto).map(flashcard -> Stream.of(checkValue(flashcard.getQuestion().getValue()),
-                        checkLangCode(flashcard.getQuestion().getLangCode()),
-                        checkValue(flashcard.getAnswer().getValue()),
-                        checkLangCode(flashcard.getAnswer().getLangCode()))
-                .filter(Objects::nonNull).collect(Collectors.toList())).orElse(Collections.emptyList());
+    public void validateFlashcardParameters(final FlashcardDto flashcardDto) {
+        FLASHCARD_RULES.validate(flashcardDto);
     }
 
-    private FieldError checkValue(final String value) {
-        if (StringUtils.isBlank(value) || value.length() > MAX_NAME_LENGTH || value.length() < MIN_NAME_LENGTH) {
-            final String message = "Invalid name";
-            return new FieldError("String", "value", value, false, null, null, message);
-        } else {
-            return null;
-        }
+    private static boolean isValidValue(final String value) {
+        return !StringUtils.isBlank(value) && value.length() <= MAX_NAME_LENGTH && value.length() >= MIN_NAME_LENGTH;
     }
 
-    private FieldError checkLangCode(final String langCode) {
-        if (StringUtils.isBlank(langCode) || langCode.length() != LANG_CODE_LENGTH) {
-            final String message = "Invalid langCode";
-            return new FieldError("String", "langCode", langCode, false, null, null, message);
-        } else {
-            return null;
-        }
+    private static boolean isValidLangCode(final String langCode) {
+        return !StringUtils.isBlank(langCode) && langCode.length() == LANG_CODE_LENGTH;
     }
 
 }
-
-
@@ -1,18 +1,9 @@
 package com.example.flashcards.validation;
 
 import com.example.flashcards.dto.flashcard.LanguageDto;
-import com.example.flashcards.exception.InvalidArgumentException;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.stereotype.Component;
-import org.springframework.validation.FieldError;
-
-import java.util.Collections;
-import java.util.List;
-import java.util.Objects;
-import java.util.Optional;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 @Component
 @RequiredArgsConstructor
@@ -22,43 +13,26 @@ public class LanguageValidator {
     private static final int MAX_NAME_LENGTH = 32;
     private static final int LANG_CODE_LENGTH = 3;
 
-    public void validateLanguageParameters(final LanguageDto languageDto, final boolean isEdit) {
-        final List<FieldError> fieldErrorList = getFieldErrors(languageDto, isEdit);
+    private static final ValidationRules<LanguageDto> EDIT_RULES = ValidationRules.<LanguageDto>builder()
+            .rule("String", "name", LanguageDto::getName, language -> isValidName(language.getName()), "Invalid name")
+            .build();
 
-        if (!fieldErrorList.isEmpty()) {
-            throw new InvalidArgumentException(fieldErrorList);
-        }
-    }
+    private static final ValidationRules<LanguageDto> CREATE_RULES = ValidationRules.<LanguageDto>builder()
+            .rule("String", "name", LanguageDto::getName, language -> isValidName(language.getName()), "Invalid name")
+            .rule("String", "langCode", LanguageDto::getLangCode, language -> isValidLangCode(language.getLangCode()),
+                    "Invalid langCode")
+            .build();
 
-    private List<FieldError> getFieldErrors(final LanguageDto languageDto, final boolean isEdit) {
-        if (isEdit) {
-            return Optional.ofNullable(languageDto).map(lang -> Stream.of(checkName(lang.getName()))
-                    .filter(Objects::nonNull).collect(Collectors.toList())).orElse(Collections.emptyList());
-        } else {
-            return Optional.ofNullable(languageDto).map(languageCreate -> Stream.of(checkName(languageCreate.getName()),
-                            checkLangCode(languageCreate.getLangCode()))
-                    .filter(Objects::nonNull).collect(Collectors.toList())).orElse(Collections.emptyList());
-        }
+    public void validateLanguageParameters(final LanguageDto languageDto, final boolean isEdit) {
+        (isEdit ? EDIT_RULES : CREATE_RULES).validate(languageDto);
     }
 
-    private FieldError checkName(final String name) {
-        if (StringUtils.isBlank(name) || name.length() > MAX_NAME_LENGTH || name.length() < MIN_NAME_LENGTH) {
-            final String message = "Invalid name";
-            return new FieldError("String", "name", name, false, null, null, message);
-        } else {
-            return null;
-        }
+    private static boolean isValidName(final String name) {
+        return !StringUtils.isBlank(name) && name.length() <= MAX_NAME_LENGTH && name.length() >= MIN_NAME_LENGTH;
     }
 
-    private FieldError checkLangCode(final String langCode) {
-        if (StringUtils.isBlank(langCode) || langCode.length() != LANG_CODE_LENGTH) {
-            final String message = "Invalid langCode";
-            return new FieldError("String", "langCode", langCode, false, null, null, message);
-        } else {
-            return null;
-        }
+    private static boolean isValidLangCode(final String langCode) {
+        return !StringUtils.isBlank(langCode) && langCode.length() == LANG_CODE_LENGTH;
     }
 
 }
-
-
@@ -3,15 +3,11 @@ package com.example.flashcards.validation;
 import com.example.flashcards.dto.quiz.QuizCreateDto;
 import com.example.flashcards.dto.quiz.QuizEditDto;
 import com.example.flashcards.dto.quiz.QuizSolveDto;
-import com.example.flashcards.exception.InvalidArgumentException;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.stereotype.Component;
-import org.springframework.validation.FieldError;
 
-import java.util.*;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.Set;
 
 import static java.util.Objects.nonNull;
 
@@ -21,77 +17,42 @@ public class QuizValidator {
 
     private static final int MIN_NAME_LENGTH = 3;
     private static final int MAX_NAME_LENGTH = 32;
-    private static final int LANG_CODE_LENGTH = 3;
 
-    public void validateQuizCreateParameters(final QuizCreateDto quizCreateDto) {
-        final List<FieldError> fieldErrorList = getFieldErrors(quizCreateDto);
+    private static final ValidationRules<QuizCreateDto> CREATE_RULES = ValidationRules.<QuizCreateDto>builder()
+            .rule("String", "name", QuizCreateDto::getName, quiz -> isValidName(quiz.getName()), "Invalid quiz name")
+            .rule("String", "flashcardsId", QuizCreateDto::getFlashcardsId,
+                    quiz -> hasFlashcardsIds(quiz.getFlashcardsId()), "Flashcards ids needs to be provided.")
+            .build();
 
-        if (!fieldErrorList.isEmpty()) {
-            throw new InvalidArgumentException(fieldErrorList);
-        }
-    }
+    private static final ValidationRules<QuizEditDto> EDIT_RULES = ValidationRules.<QuizEditDto>builder()
+            .rule("String", "name", QuizEditDto::getName, quiz -> isValidName(quiz.getName()), "Invalid quiz name")
+            .rule("String", "flashcardsId", QuizEditDto::getFlashcardsId,
+                    quiz -> hasFlashcardsIds(quiz.getFlashcardsId()), "Flashcards ids needs to be provided.")
+            .build();
 
-    public void validateQuizEditParameters(final QuizEditDto quizEditDto) {
-        final List<FieldError> fieldErrorList = getFieldErrors(quizEditDto);
-
-        if (!fieldErrorList.isEmpty()) {
-            throw new InvalidArgumentException(fieldErrorList);
-        }
-    }
-
-    public void validateQuizSolveParameters(final QuizSolveDto quizSolveDto) {
-        final List<FieldError> fieldErrorList = getFieldErrors(quizSolveDto);
-
-        if (!fieldErrorList.isEmpty()) {
-            throw new InvalidArgumentException(fieldErrorList);
-        }
-    }
+    private static final ValidationRules<QuizSolveDto> SOLVE_RULES = ValidationRules.<QuizSolveDto>builder()
+            .rule("Integer", "flashcardId", QuizSolveDto::getFlashcardId, solve -> nonNull(solve.getFlashcardId()),
+                    "Flashcard id needs to be provided.")
+            .build();
 
-    private List<FieldError> getFieldErrors(final QuizCreateDto quizCreateDto) {
-
-        return Optional.ofNullable(quizCreateDto).map(quizCreate -> Stream.of(checkName(quizCreate.getName()),
-                        checkFlashcardsId(quizCreate.getFlashcardsId()))
-                .filter(Objects::nonNull).collect(Collectors.toList())).orElse(Collections.emptyList());
-    }
-
-    private List<FieldError> getFieldErrors(final QuizEditDto quizEditDto) {
-
-        return Optional.ofNullable(quizEditDto).map(quizEdit -> Stream.of(checkName(quizEdit.getName()),
-                        checkFlashcardsId(quizEdit.getFlashcardsId()))
-                .filter(Objects::nonNull).collect(Collectors.toList())).orElse(Collections.emptyList());
+    public void validateQuizCreateParameters(final QuizCreateDto quizCreateDto) {
+        CREATE_RULES.validate(quizCreateDto);
     }
 
-    private List<FieldError> getFieldErrors(final QuizSolveDto quizSolveDto) {
-
-        return Optional.ofNullable(quizSolveDto).map(qs -> Stream.of(checkFlashcardId(qs.getFlashcardId()))
-                .filter(Objects::nonNull).collect(Collectors.toList())).orElse(Collections.emptyList());
+    public void validateQuizEditParameters(final QuizEditDto quizEditDto) {
+        EDIT_RULES.validate(quizEditDto);
     }
 
-    private FieldError checkName(final String name) {
-        if (StringUtils.isBlank(name) || name.length() > MAX_NAME_LENGTH || name.length() < MIN_NAME_LENGTH) {
-            final String message = "Invalid quiz name";
-            return new FieldError("String", "name", name, false, null, null, message);
-        } else {
-            return null;
-        }
+    public void validateQuizSolveParameters(final QuizSolveDto quizSolveDto) {
+        SOLVE_RULES.validate(quizSolveDto);
     }
 
-    private FieldError checkFlashcardsId(final Set<Integer> flashcardsId) {
-        if (flashcardsId == null || flashcardsId.isEmpty()) {
-            final String message = "Flashcards ids needs to be provided.";
-            return new FieldError("String", "flashcardsId", flashcardsId, false, null, null, message);
-        } else {
-            return null;
-        }
+    private static boolean isValidName(final String name) {
+        return !StringUtils.isBlank(name) && name.length() <= MAX_NAME_LENGTH && name.length() >= MIN_NAME_LENGTH;
     }
 
-    private FieldError checkFlashcardId(final Integer flashcardId) {
-        if (!nonNull(flashcardId)) {
-            final String message = "Flashcard id needs to be provided.";
-            return new FieldError("Integer", "flashcardId", flashcardId, false, null, null, message);
-        } else {
-            return null;
-        }
+    private static boolean hasFlashcardsIds(final Set<Integer> flashcardsId) {
+        return flashcardsId != null && !flashcardsId.isEmpty();
     }
 
 }
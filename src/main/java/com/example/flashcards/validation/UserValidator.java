@@ -2,18 +2,13 @@ package com.example.flashcards.validation;
 
 import com.example.flashcards.dto.UserDto;
 import com.example.flashcards.dto.UserPasswordDto;
-import com.example.flashcards.exception.InvalidArgumentException;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
 import org.passay.*;
-import org.springframework.security.crypto.bcrypt.BCrypt;
 import org.springframework.stereotype.Component;
-import org.springframework.validation.FieldError;
 
-import java.util.*;
+import java.util.Arrays;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 @Component
 @RequiredArgsConstructor
@@ -21,107 +16,96 @@ public class UserValidator {
 
     private static final int MIN_USERNAME_LENGTH = 3;
     private static final int MAX_USERNAME_LENGTH = 32;
-    private static final String EMAIL_PATTERN =
-            "^[_A-Za-z0-9- +]+(\\.[_A-Za-z0-9-]+)*@[A-Za-z0-9-]+(\\.[A-Za-z0-9]+)*(\\.[A-Za-z]{2,})$";
-    private static final String USERNAME_PATTERN = "^[a-zA-Z0-9]+([_ -]?[a-zA-Z0-9])*$";
-
+    private static final Pattern EMAIL_PATTERN =
+            Pattern.compile("^[_A-Za-z0-9- +]+(\\.[_A-Za-z0-9-]+)*@[A-Za-z0-9-]+(\\.[A-Za-z0-9]+)*(\\.[A-Za-z]{2,})$");
+
+    // Rules are stateless, so one validator serves every thread.
+    private static final PasswordValidator PASSWORD_VALIDATOR = new PasswordValidator(Arrays.asList(new LengthRule(8, 30),
+            new CharacterRule(EnglishCharacterData.UpperCase, 1),
+            new CharacterRule(EnglishCharacterData.Digit, 1),
+            new CharacterRule(EnglishCharacterData.Special, 1),
+            new IllegalSequenceRule(EnglishSequenceData.Numerical, 3, false),
+            new IllegalSequenceRule(EnglishSequenceData.Alphabetical, 3, false),
+            new IllegalSequenceRule(EnglishSequenceData.USQwerty, 3, false),
+            new WhitespaceRule()));
+
+    private static final ValidationRules<UserDto> CREATE_RULES = ValidationRules.<UserDto>builder()
+            .rule("String", "username", UserDto::getUsername, user -> isValidUsername(user.getUsername()),
+                    "Invalid username")
+            .rule("String", "email", UserDto::getEmail, user -> isValidEmail(user.getEmail()), "Invalid email")
+            .rule("String", "password", UserDto::getPassword, user -> isValidPassword(user.getPassword()),
+                    "Invalid password")
+            .rule("String", "repeatPassword", UserDto::getRepeatPassword,
+                    user -> isRepeated(user.getPassword(), user.getRepeatPassword()), "Passwords must be equals")
+            .build();
+
+    private static final ValidationRules<PasswordChange> CHANGE_PASSWORD_RULES = ValidationRules.<PasswordChange>builder()
+            .rule("String", "repeatPassword", change -> change.passwords.getRepeatPassword(),
+                    change -> isRepeated(change.passwords.getPassword(), change.passwords.getRepeatPassword()),
+                    "Passwords must be equals")
+            .rule("String", "password", change -> change.passwords.getPassword(),
+                    change -> isValidPassword(change.passwords.getPassword()), "Invalid password")
+            .rule("String", "password", change -> change.passwords.getOldPassword(),
+                    change -> !StringUtils.isBlank(change.passwords.getOldPassword()) && change.oldPasswordMatches,
+                    "Wrong password")
+            .rule("String", "password", change -> change.passwords.getOldPassword(),
+                    change -> isChanged(change.passwords.getOldPassword(), change.passwords.getPassword()),
+                    "Passwords cannot be equals")
+            .build();
 
     public void validateUserCreateParameters(final UserDto userDto) {
-        final List<FieldError> fieldErrorList = getFieldErrors(userDto);
-
-        if (!fieldErrorList.isEmpty()) {
-            throw new InvalidArgumentException(fieldErrorList);
-        }
+        CREATE_RULES.validate(userDto);
     }
 
-    public void validateChangePasswordParameters(final UserPasswordDto userPasswordDto, final String dbPassword) {
-        final List<FieldError> fieldErrorList = getFieldErrors(userPasswordDto, dbPassword);
-
-        if (!fieldErrorList.isEmpty()) {
-            throw new InvalidArgumentException(fieldErrorList);
+    // The old password is checked by the caller, hashing does not belong on the validation path.
+    public void validateChangePasswordParameters(final UserPasswordDto userPasswordDto, final boolean oldPasswordMatches) {
+        if (userPasswordDto != null) {
+            CHANGE_PASSWORD_RULES.validate(new PasswordChange(userPasswordDto, oldPasswordMatches));
         }
     }
 
-    private List<FieldError> getFieldErrors(final UserDto userDto) {
-
-        return Optional.ofNullable(userDto).map(ud -> Stream.of(checkUsername(ud.getUsername()),
-                        checkEmail(ud.getEmail()),
-                        checkPassword(ud.getPassword()),
-                        checkPasswordAndRepeatPassword(ud.getPassword(), ud.getRepeatPassword()))
-                .filter(Objects::nonNull).collect(Collectors.toList())).orElse(Collections.emptyList());
-    }
-
-    private List<FieldError> getFieldErrors(final UserPasswordDto userPasswordDto, final String dbPassword) {
-
-        return Optional.ofNullable(userPasswordDto).map(ud -> Stream.of(
-                        checkPasswordAndRepeatPassword(ud.getPassword(), ud.getRepeatPassword()),
-                        checkPassword(ud.getPassword()),
-                        checkPasswordWithDb(ud.getOldPassword(), dbPassword),
-                        checkOldAndNewPasswordsEquals(ud.getOldPassword(), ud.getPassword()))
-                .filter(Objects::nonNull).collect(Collectors.toList())).orElse(Collections.emptyList());
-    }
-
-    private FieldError checkUsername(final String username) {
-        if (StringUtils.isBlank(username) || username.length() > MAX_USERNAME_LENGTH || username.length() < MIN_USERNAME_LENGTH
-                || !(Pattern.compile(USERNAME_PATTERN).matcher(username).matches())) {
-            final String message = "Invalid username";
-            return new FieldError("String", "username", username, false, null, null, message);
-        } else {
-            return null;
+    // Same as ^[a-zA-Z0-9]+([_ -]?[a-zA-Z0-9])*$ without a matcher per call.
+    private static boolean isValidUsername(final String username) {
+        if (StringUtils.isBlank(username) || username.length() > MAX_USERNAME_LENGTH || username.length() < MIN_USERNAME_LENGTH) {
+            return false;
         }
+        boolean afterSeparator = true;
+        for (int i = 0; i < username.length(); i++) {
+            final char c = username.charAt(i);
+            if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')) {
+                afterSeparator = false;
+            } else if ((c == '_' || c == ' ' || c == '-') && !afterSeparator) {
+                afterSeparator = true;
+            } else {
+                return false;
+            }
+        }
+        return !afterSeparator;
     }
 
-    private FieldError checkEmail(final String email) {
-        if (StringUtils.isBlank(email) || !(Pattern.compile(EMAIL_PATTERN).matcher(email).matches())) {
-            final String message = "Invalid email";
-            return new FieldError("String", "email", email, false, null, null, message);
-        } else {
-            return null;
-        }
+    private static boolean isValidEmail(final String email) {
+        return !StringUtils.isBlank(email) && EMAIL_PATTERN.matcher(email).matches();
     }
 
-    private FieldError checkPassword(final String password) {
-        final PasswordValidator passwordValidator = new PasswordValidator(Arrays.asList(new LengthRule(8, 30),
-                new CharacterRule(EnglishCharacterData.UpperCase, 1),
-                new CharacterRule(EnglishCharacterData.Digit, 1),
-                new CharacterRule(EnglishCharacterData.Special, 1),
-                new IllegalSequenceRule(EnglishSequenceData.Numerical, 3, false),
-                new IllegalSequenceRule(EnglishSequenceData.Alphabetical, 3, false),
-                new IllegalSequenceRule(EnglishSequenceData.USQwerty, 3, false),
-                new WhitespaceRule()));
-
-        if (StringUtils.isBlank(password) || !(passwordValidator.validate(new PasswordData(password)).isValid())) {
-            final String message = "Invalid password";
-            return new FieldError("String", "password", password, false, null, null, message);
-        } else {
-            return null;
-        }
+    private static boolean isValidPassword(final String password) {
+        return !StringUtils.isBlank(password) && PASSWORD_VALIDATOR.validate(new PasswordData(password)).isValid();
     }
 
-    private FieldError checkPasswordAndRepeatPassword(final String password, final String repeatPassword) {
-        if (StringUtils.isBlank(password) || StringUtils.isBlank(repeatPassword) || !(password.equals(repeatPassword))) {
-            final String message = "Passwords must be equals";
-            return new FieldError("String", "repeatPassword", repeatPassword, false, null, null, message);
-        } else {
-            return null;
-        }
+    private static boolean isRepeated(final String password, final String repeatPassword) {
+        return !StringUtils.isBlank(password) && !StringUtils.isBlank(repeatPassword) && password.equals(repeatPassword);
     }
 
-    private FieldError checkPasswordWithDb(final String password, final String dbPassword) {
-        if (StringUtils.isBlank(password) || !BCrypt.checkpw(password, dbPassword)) {
-            final String message = "Wrong password";
-            return new FieldError("String", "password", password, false, null, null, message);
-        } else {
-            return null;
-        }
+    private static boolean isChanged(final String oldPassword, final String newPassword) {
+        return !StringUtils.isBlank(oldPassword) && !StringUtils.isBlank(newPassword) && !oldPassword.equals(newPassword);
     }
 
-    private FieldError checkOldAndNewPasswordsEquals(final String password, final String newPassword) {
-        if (StringUtils.isBlank(password) || StringUtils.isBlank(newPassword) || (password.equals(newPassword))) {
-            final String message = "Passwords cannot be equals";
-            return new FieldError("String", "password", password, false, null, null, message);
-        } else {
-            return null;
+    private static final class PasswordChange {
+        private final UserPasswordDto passwords;
+        private final boolean oldPasswordMatches;
+
+        private PasswordChange(final UserPasswordDto passwords, final boolean oldPasswordMatches) {
+            this.passwords = passwords;
+            this.oldPasswordMatches = oldPasswordMatches;
         }
     }
 }
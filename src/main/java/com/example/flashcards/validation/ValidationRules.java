@@ -0,0 +1,89 @@
+package com.example.flashcards.validation;
+
+import com.example.flashcards.exception.InvalidArgumentException;
+import org.springframework.validation.FieldError;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Field checks for one request type, built once and shared between threads.
+ * Checks run in declaration order and nothing is allocated unless one of them fails, so valid input costs only the
+ * checks themselves. A null target is accepted, as the validators always did.
+ */
+public final class ValidationRules<T> {
+
+    private final Rule<T>[] rules;
+
+    private ValidationRules(final Rule<T>[] rules) {
+        this.rules = rules;
+    }
+
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    public void validate(final T target) {
+        if (target == null) {
+            return;
+        }
+        List<FieldError> fieldErrors = null;
+        for (final Rule<T> rule : rules) {
+            final FieldError fieldError = rule.check(target);
+            if (fieldError != null) {
+                if (fieldErrors == null) {
+                    fieldErrors = new ArrayList<>(rules.length);
+                }
+                fieldErrors.add(fieldError);
+            }
+        }
+        if (fieldErrors != null) {
+            throw new InvalidArgumentException(fieldErrors);
+        }
+    }
+
+    public static final class Builder<T> {
+        private final List<Rule<T>> rules = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        // isValid sees the whole target, so a rule may compare fields; value is what the error reports as rejected.
+        public Builder<T> rule(final String objectName, final String field, final Function<T, ?> value,
+                               final Predicate<T> isValid, final String message) {
+            rules.add(new Rule<>(objectName, field, value, isValid, message));
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        public ValidationRules<T> build() {
+            return new ValidationRules<>(rules.toArray(new Rule[0]));
+        }
+    }
+
+    private static final class Rule<T> {
+        private final String objectName;
+        private final String field;
+        private final Function<T, ?> value;
+        private final Predicate<T> isValid;
+        private final String message;
+
+        private Rule(final String objectName, final String field, final Function<T, ?> value,
+                     final Predicate<T> isValid, final String message) {
+            this.objectName = objectName;
+            this.field = field;
+            this.value = value;
+            this.isValid = isValid;
+            this.message = message;
+        }
+
+        private FieldError check(final T target) {
+            if (isValid.test(target)) {
+                return null;
+            }
+            return new FieldError(objectName, field, value.apply(target), false, null, null, message);
+        }
+    }
+}
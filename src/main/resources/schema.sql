@@ -0,0 +1,70 @@
+-- One-off migrations of existing databases, run before Hibernate updates the schema.
+-- Statements fail or match no rows once applied, which spring.sql.init.continue-on-error tolerates.
+
+-- Replaces the flashcard.is_used flag with a reference count of quizzes using the card.
+ALTER TABLE flashcard ADD COLUMN usage_count integer DEFAULT 0 NOT NULL;
+UPDATE flashcard SET usage_count = (SELECT count(*) FROM quiz_flashcard qf WHERE qf.flashcard_id = flashcard.id) WHERE is_used;
+ALTER TABLE flashcard DROP COLUMN is_used;
+
+-- Running solve counters of a quiz.
+ALTER TABLE quiz ADD COLUMN flashcards_count integer DEFAULT 0 NOT NULL;
+ALTER TABLE quiz ADD COLUMN answered_count integer DEFAULT 0 NOT NULL;
+ALTER TABLE quiz ADD COLUMN correct_count integer DEFAULT 0 NOT NULL;
+UPDATE quiz SET flashcards_count = (SELECT count(*) FROM quiz_flashcard qf WHERE qf.quiz_id = quiz.id),
+                answered_count = (SELECT count(qf.user_answer) FROM quiz_flashcard qf WHERE qf.quiz_id = quiz.id),
+                correct_count = (SELECT count(*) FROM quiz_flashcard qf
+                                 JOIN flashcard f ON f.id = qf.flashcard_id
+                                 JOIN answer a ON a.id = f.answer
+                                 WHERE qf.quiz_id = quiz.id AND lower(trim(a.value)) = lower(trim(qf.user_answer)))
+WHERE flashcards_count = 0;
+
+-- Precomputed answer form used by AnswerMatcher; rows left null are normalized on the fly.
+ALTER TABLE answer ADD COLUMN normalized_value varchar(255);
+
+-- Verdict of each answer, by the rule correct_count was filled with. The column is added nullable and only its null
+-- rows are filled, so the verdicts are computed once and later startups leave AnswerMatcher's ones alone.
+ALTER TABLE quiz_flashcard ADD COLUMN correct boolean;
+UPDATE quiz_flashcard SET correct = EXISTS (SELECT 1 FROM flashcard f JOIN answer a ON a.id = f.answer
+                                            WHERE f.id = quiz_flashcard.flashcard_id
+                                            AND lower(trim(a.value)) = lower(trim(quiz_flashcard.user_answer)))
+WHERE correct IS NULL;
+ALTER TABLE quiz_flashcard ALTER COLUMN correct SET DEFAULT false;
+ALTER TABLE quiz_flashcard ALTER COLUMN correct SET NOT NULL;
+
+-- SM-2 review schedule of a flashcard and the index answering "what is due now" per user.
+ALTER TABLE flashcard ADD COLUMN ease_factor double precision DEFAULT 2.5 NOT NULL;
+ALTER TABLE flashcard ADD COLUMN review_interval integer DEFAULT 0 NOT NULL;
+ALTER TABLE flashcard ADD COLUMN repetitions integer DEFAULT 0 NOT NULL;
+ALTER TABLE flashcard ADD COLUMN next_due timestamp DEFAULT current_timestamp NOT NULL;
+CREATE INDEX IF NOT EXISTS flashcard_users_next_due_idx ON flashcard (users, next_due, id);
+
+-- Keyset pagination of flashcard and quiz listings by (creation_date, id).
+ALTER TABLE quiz ADD COLUMN creation_date timestamp DEFAULT current_timestamp NOT NULL;
+CREATE INDEX IF NOT EXISTS flashcard_users_creation_date_idx ON flashcard (users, creation_date, id);
+CREATE INDEX IF NOT EXISTS quiz_users_creation_date_idx ON quiz (users, creation_date, id);
+
+-- Duplicate question detection; QuestionHashBackfill fills the hash of existing flashcards at startup.
+ALTER TABLE flashcard ADD COLUMN question_hash bigint;
+CREATE UNIQUE INDEX IF NOT EXISTS flashcard_users_question_hash_idx ON flashcard (users, question_hash);
+
+-- Filter and sort keys of flashcard listings; QuestionSortKeyBackfill fills question_sort_key at startup.
+ALTER TABLE flashcard ADD COLUMN question_sort_key varchar(255);
+ALTER TABLE flashcard ADD COLUMN question_lang_code varchar(3);
+ALTER TABLE flashcard ADD COLUMN answer_lang_code varchar(3);
+UPDATE flashcard SET question_lang_code = (SELECT l.lang_code FROM question q JOIN language l ON l.id = q.lang_code
+                                           WHERE q.id = flashcard.question),
+                     answer_lang_code = (SELECT l.lang_code FROM answer a JOIN language l ON l.id = a.lang_code
+                                         WHERE a.id = flashcard.answer)
+WHERE question_lang_code IS NULL;
+CREATE INDEX IF NOT EXISTS flashcard_users_languages_idx
+    ON flashcard (users, question_lang_code, answer_lang_code, creation_date, id);
+CREATE INDEX IF NOT EXISTS flashcard_users_question_sort_key_idx ON flashcard (users, question_sort_key, id);
+CREATE INDEX IF NOT EXISTS flashcard_users_languages_question_sort_key_idx
+    ON flashcard (users, question_lang_code, answer_lang_code, question_sort_key, id);
+
+-- Data versions behind the ETags of conditional GETs, bumped only through bulk updates.
+ALTER TABLE quiz ADD COLUMN data_version bigint DEFAULT 0 NOT NULL;
+ALTER TABLE users ADD COLUMN data_version bigint DEFAULT 0 NOT NULL;
+
+-- Version of the texts shown for a quiz's flashcards, keying their cached copy.
+ALTER TABLE quiz ADD COLUMN flashcards_version bigint DEFAULT 0 NOT NULL;
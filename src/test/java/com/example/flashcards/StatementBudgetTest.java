@@ -0,0 +1,137 @@
+package com.example.flashcards;
+
+import com.example.flashcards.support.MockMvcTest;
+import com.example.flashcards.support.StatementCounter;
+import jdk.jfr.Description;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statement budgets for the endpoints, measured through the full filter chain against a large seeded deck.
+ * The authenticated user and the language catalog are loaded before measuring, so the budgets cover the steady state
+ * without users or language lookups.
+ */
+class StatementBudgetTest extends MockMvcTest {
+
+    private static final int DECK_SIZE = 5000;
+    private static final int QUIZ_SIZE = 1000;
+
+    private Integer flashcardId;
+    private Integer quizId;
+
+    @BeforeEach
+    void setUp() {
+        final List<Integer> flashcardsIds = seedFlashcards(DECK_SIZE);
+        flashcardId = flashcardsIds.get(0);
+        quizId = createQuiz(flashcardsIds.subList(0, QUIZ_SIZE));
+
+        jwtUserDetailsService.loadCachedUserByUsername(USERNAME);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @Description("Flashcard read endpoints should stay within their statement budgets")
+    void flashcardReadsShouldStayWithinBudget() throws Exception {
+        assertWithinBudget("list flashcards", 2, get("/api/v1/flashcards").param("size", "200"));
+        assertWithinBudget("sort flashcards", 1, get("/api/v1/flashcards/sort")
+                .param("questionLangCode", "POL").param("orderBy", "question").param("size", "200"));
+        assertWithinBudget("search flashcards", 1, get("/api/v1/flashcards/search")
+                .param("questionQuery", "question 1").param("size", "200"));
+        assertWithinBudget("get flashcard", 1, get("/api/v1/flashcards/" + flashcardId));
+        assertWithinBudget("due flashcards", 1, get("/api/v1/flashcards/due").param("limit", "100"));
+    }
+
+    @Test
+    @Description("Flashcard writes should stay within their statement budgets")
+    void flashcardWritesShouldStayWithinBudget() throws Exception {
+        assertWithinBudget("create flashcard", 6, post("/api/v1/flashcards")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(flashcardJson("new question")));
+        // The edit changes the answer of a flashcard used in a quiz, so its answers are re-scored.
+        assertWithinBudget("edit flashcard", 9, put("/api/v1/flashcards/" + flashcardId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(flashcardJson("edited question")));
+    }
+
+    @Test
+    @Description("Quiz read endpoints should stay within their statement budgets regardless of quiz size")
+    void quizReadsShouldStayWithinBudget() throws Exception {
+        // The first view caches the quiz's flashcard texts.
+        mockMvc.perform(authenticated(get("/api/v1/quizzes/" + quizId))).andExpect(status().isOk());
+
+        assertWithinBudget("list quizzes", 2, get("/api/v1/quizzes"));
+        assertWithinBudget("quiz details", 3, get("/api/v1/quizzes/" + quizId));
+        assertWithinBudget("quiz to solve", 3, get("/api/v1/quizzes/" + quizId + "/solve"));
+        assertWithinBudget("quiz results", 3, get("/api/v1/quizzes/" + quizId + "/results"));
+    }
+
+    @Test
+    @Description("Quiz write endpoints should stay within their statement budgets regardless of quiz size")
+    void quizWritesShouldStayWithinBudget() throws Exception {
+        final StringBuilder answers = new StringBuilder("[");
+        for (int i = 0; i < QUIZ_SIZE; i++) {
+            answers.append(i == 0 ? "" : ",")
+                    .append("{\"flashcardId\":").append(flashcardId + i).append(",\"userAnswer\":\"answer ").append(i).append("\"}");
+        }
+        answers.append(']');
+
+        // The quiz row is locked before the answer is read.
+        assertWithinBudget("submit answer", 6, post("/api/v1/quizzes/" + quizId + "/answers")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"flashcardId\":" + flashcardId + ",\"userAnswer\":\"answer 0\"}"));
+        assertWithinBudget("solve quiz", 10, post("/api/v1/quizzes/" + quizId + "/solve")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(answers.toString()));
+        assertWithinBudget("reset answers", 3, delete("/api/v1/quizzes/" + quizId + "/answers"));
+        // The quiz row is locked first, and loading it also loads its owner.
+        assertWithinBudget("delete quiz", 6, delete("/api/v1/quizzes/" + quizId));
+    }
+
+    @Test
+    @Description("Conditional reads of unchanged resources should only read their version")
+    void notModifiedShouldStayWithinBudget() throws Exception {
+        assertNotModifiedWithinBudget("list flashcards", get("/api/v1/flashcards").param("size", "200"));
+        assertNotModifiedWithinBudget("compact deck", get("/api/v1/flashcards").accept(MediaType.APPLICATION_CBOR));
+        assertNotModifiedWithinBudget("list quizzes", get("/api/v1/quizzes"));
+        assertNotModifiedWithinBudget("quiz details", get("/api/v1/quizzes/" + quizId));
+        assertNotModifiedWithinBudget("quiz results", get("/api/v1/quizzes/" + quizId + "/results"));
+    }
+
+    @Test
+    @Description("Login should look the user up once")
+    void loginShouldStayWithinBudget() throws Exception {
+        final long statements = StatementCounter.count(() -> mockMvc.perform(post("/api/v1/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"" + USERNAME + "\",\"password\":\"" + PASSWORD + "\"}"))
+                .andExpect(status().isOk()));
+        assertTrue(statements <= 1, "login issued " + statements + " statements, budget is 1");
+    }
+
+    private void assertWithinBudget(final String name, final long budget, final RequestBuilder request) throws Exception {
+        final long statements = StatementCounter.count(() -> {
+            mockMvc.perform(authenticated(request)).andExpect(status().is2xxSuccessful());
+            entityManager.flush();
+        });
+        entityManager.clear();
+        assertTrue(statements <= budget, name + " issued " + statements + " statements, budget is " + budget);
+    }
+
+    private void assertNotModifiedWithinBudget(final String name, final MockHttpServletRequestBuilder request) throws Exception {
+        final String eTag = mockMvc.perform(authenticated(request)).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        final long statements = StatementCounter.count(() -> mockMvc.perform(authenticated(
+                        request.header(HttpHeaders.IF_NONE_MATCH, eTag)))
+                .andExpect(status().isNotModified()));
+        assertTrue(statements <= 1, name + " not modified issued " + statements + " statements, budget is 1");
+    }
+}
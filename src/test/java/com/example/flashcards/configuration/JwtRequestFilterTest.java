@@ -0,0 +1,29 @@
+package com.example.flashcards.configuration;
+
+import com.example.flashcards.service.UserService;
+import com.example.flashcards.support.MockMvcTest;
+import jdk.jfr.Description;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class JwtRequestFilterTest extends MockMvcTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    @Description("Removing a user should evict the cached details so their token stops authenticating")
+    void removedUserShouldNotAuthenticate() throws Exception {
+        //given
+        mockMvc.perform(authenticated(get("/api/v1/quizzes"))).andExpect(status().isOk());
+
+        //when
+        userService.removeUser(USERNAME);
+
+        //then
+        mockMvc.perform(authenticated(get("/api/v1/quizzes"))).andExpect(status().isUnauthorized());
+    }
+}
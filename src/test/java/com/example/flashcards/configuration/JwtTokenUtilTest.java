@@ -0,0 +1,72 @@
+package com.example.flashcards.configuration;
+
+import com.example.flashcards.model.jwt.VerifiedToken;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.SignatureException;
+import jdk.jfr.Description;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JwtTokenUtilTest {
+
+    private JwtTokenUtil jwtTokenUtil;
+
+    @BeforeEach
+    void setUp() {
+        jwtTokenUtil = new JwtTokenUtil(100);
+        jwtTokenUtil.jwtTokenValidity = 36000;
+        ReflectionTestUtils.setField(jwtTokenUtil, "secret", "secretForEncodingSignature");
+    }
+
+    @Test
+    @Description("Should return the subject and role of a valid token")
+    void shouldVerifyToken() {
+        //given
+        final String token = jwtTokenUtil.generateToken(new User("username", "password",
+                List.of(new SimpleGrantedAuthority("USER"))));
+
+        //when
+        final VerifiedToken verifiedToken = jwtTokenUtil.verifyToken(token);
+
+        //then
+        assertEquals("username", verifiedToken.getUsername());
+        assertEquals("USER", verifiedToken.getRole());
+    }
+
+    @Test
+    @Description("Should reject tampered and expired tokens")
+    void shouldRejectInvalidTokens() {
+        //given
+        final String token = jwtTokenUtil.generateToken(new User("username", "password", List.of()));
+        final String tampered = token.substring(0, token.length() - 4) + "AAAA";
+        jwtTokenUtil.jwtTokenValidity = -1;
+        final String expired = jwtTokenUtil.generateToken(new User("username", "password", List.of()));
+
+        //then
+        assertThrows(SignatureException.class, () -> jwtTokenUtil.verifyToken(tampered));
+        assertThrows(ExpiredJwtException.class, () -> jwtTokenUtil.verifyToken(expired));
+    }
+
+    @Test
+    @Description("Should serve a repeated token from the cache without checking the signature again")
+    void shouldCacheVerifiedToken() {
+        //given
+        final String token = jwtTokenUtil.generateToken(new User("username", "password", List.of()));
+        jwtTokenUtil.verifyToken(token);
+
+        //when
+        ReflectionTestUtils.setField(jwtTokenUtil, "secret", "rotatedSecret");
+
+        //then
+        assertEquals("username", jwtTokenUtil.verifyToken(token).getUsername());
+        assertThrows(SignatureException.class, () -> jwtTokenUtil.parseToken(token));
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.flashcards.controller;
+
+import com.example.flashcards.support.MockMvcTest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import jdk.jfr.Description;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class FlashcardControllerTest extends MockMvcTest {
+
+    private Integer flashcardId;
+
+    @BeforeEach
+    void setUp() {
+        flashcardId = seedFlashcards(300).get(0);
+    }
+
+    @Test
+    @Description("Unchanged flashcards should be answered with 304 and no body")
+    void unchangedFlashcardsShouldNotBeModified() throws Exception {
+        //given
+        final String eTag = eTag(get("/api/v1/flashcards"));
+
+        //then
+        mockMvc.perform(authenticated(get("/api/v1/flashcards").header(HttpHeaders.IF_NONE_MATCH, eTag)))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @Description("Editing a flashcard should change the ETag of the flashcards list")
+    void editShouldChangeETag() throws Exception {
+        //given
+        final String eTag = eTag(get("/api/v1/flashcards"));
+
+        //when
+        mockMvc.perform(authenticated(put("/api/v1/flashcards/" + flashcardId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(flashcardJson("edited question"))))
+                .andExpect(status().isOk());
+
+        //then
+        assertNotEquals(eTag, eTag(get("/api/v1/flashcards").header(HttpHeaders.IF_NONE_MATCH, eTag)));
+    }
+
+    @Test
+    @Description("Both representations of the flashcards list should vary by Accept, also when not modified")
+    void negotiatedFlashcardsShouldVaryByAccept() throws Exception {
+        for (final MediaType mediaType : List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR)) {
+            //given
+            final String eTag = mockMvc.perform(authenticated(get("/api/v1/flashcards").accept(mediaType)))
+                    .andExpect(status().isOk())
+                    .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+                    .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+            //then
+            mockMvc.perform(authenticated(get("/api/v1/flashcards").accept(mediaType)
+                            .header(HttpHeaders.IF_NONE_MATCH, eTag)))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)));
+        }
+    }
+
+    @Test
+    @Description("Flashcards should be served as a compact CBOR deck on request, with JSON staying the default")
+    void flashcardsShouldBeNegotiatedAsCompactCbor() throws Exception {
+        //given
+        final ObjectMapper cborMapper = new ObjectMapper(new CBORFactory());
+        final MvcResult json = mockMvc.perform(authenticated(get("/api/v1/flashcards").param("size", "200")
+                        .accept(MediaType.ALL)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andReturn();
+
+        //when
+        final MvcResult cbor = mockMvc.perform(authenticated(get("/api/v1/flashcards").param("size", "200")
+                        .accept(MediaType.APPLICATION_CBOR)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn();
+
+        //then
+        final JsonNode deck = cborMapper.readTree(cbor.getResponse().getContentAsByteArray());
+        assertEquals(List.of("POL"), cborMapper.convertValue(deck.get("langCodes"), List.class));
+        assertEquals(200, deck.get("flashcards").size());
+        assertEquals(0, deck.get("flashcards").get(0).get(2).asInt());
+        assertTrue(cbor.getResponse().getContentAsByteArray().length * 2 < json.getResponse().getContentAsByteArray().length);
+        assertNotEquals(json.getResponse().getHeader(HttpHeaders.ETAG), cbor.getResponse().getHeader(HttpHeaders.ETAG));
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.flashcards.controller;
+
+import com.example.flashcards.support.MockMvcTest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import jdk.jfr.Description;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class QuizControllerTest extends MockMvcTest {
+
+    private static final int QUIZ_SIZE = 50;
+
+    private Integer flashcardId;
+    private Integer quizId;
+
+    @BeforeEach
+    void setUp() {
+        final List<Integer> flashcardsIds = seedFlashcards(QUIZ_SIZE);
+        flashcardId = flashcardsIds.get(0);
+        quizId = createQuiz(flashcardsIds);
+    }
+
+    @Test
+    @Description("Unchanged quizzes should be answered with 304 and no body")
+    void unchangedQuizzesShouldNotBeModified() throws Exception {
+        assertNotModified(get("/api/v1/quizzes"));
+        assertNotModified(get("/api/v1/quizzes/" + quizId));
+        assertNotModified(get("/api/v1/quizzes/" + quizId + "/results"));
+    }
+
+    @Test
+    @Description("Editing a flashcard should change the ETags of the quiz list and of the quizzes containing it")
+    void flashcardEditShouldChangeQuizETags() throws Exception {
+        //given
+        final String quizzesETag = eTag(get("/api/v1/quizzes"));
+        final String quizETag = eTag(get("/api/v1/quizzes/" + quizId));
+
+        //when
+        mockMvc.perform(authenticated(put("/api/v1/flashcards/" + flashcardId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(flashcardJson("edited question"))))
+                .andExpect(status().isOk());
+
+        //then
+        assertNotEquals(quizzesETag, eTag(get("/api/v1/quizzes").header(HttpHeaders.IF_NONE_MATCH, quizzesETag)));
+        assertNotEquals(quizETag, eTag(get("/api/v1/quizzes/" + quizId).header(HttpHeaders.IF_NONE_MATCH, quizETag)));
+    }
+
+    @Test
+    @Description("A quiz to solve should be served as a compact CBOR deck on request")
+    void quizShouldBeNegotiatedAsCompactCbor() throws Exception {
+        //when
+        final byte[] body = mockMvc.perform(authenticated(get("/api/v1/quizzes/" + quizId + "/solve")
+                        .accept(MediaType.APPLICATION_CBOR)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        //then
+        final JsonNode deck = new ObjectMapper(new CBORFactory()).readTree(body);
+        assertEquals(QUIZ_SIZE, deck.get("flashcards").size());
+        assertEquals("POL", deck.get("langCodes").get(0).asText());
+    }
+
+    @Test
+    @Description("Both representations of a quiz should vary by Accept, also when not modified")
+    void negotiatedQuizShouldVaryByAccept() throws Exception {
+        for (final String url : List.of("/api/v1/quizzes/" + quizId, "/api/v1/quizzes/" + quizId + "/solve")) {
+            for (final MediaType mediaType : List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR)) {
+                //given
+                final String eTag = mockMvc.perform(authenticated(get(url).accept(mediaType)))
+                        .andExpect(status().isOk())
+                        .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+                        .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+                //then
+                mockMvc.perform(authenticated(get(url).accept(mediaType).header(HttpHeaders.IF_NONE_MATCH, eTag)))
+                        .andExpect(status().isNotModified())
+                        .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)));
+            }
+        }
+    }
+
+    private void assertNotModified(final MockHttpServletRequestBuilder request) throws Exception {
+        final String eTag = eTag(request);
+        mockMvc.perform(authenticated(request.header(HttpHeaders.IF_NONE_MATCH, eTag)))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.flashcards.service;
+
+import jdk.jfr.Description;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AnswerMatcherTest {
+
+    private final AnswerMatcher exactMatcher = new AnswerMatcher(0);
+    private final AnswerMatcher tolerantMatcher = new AnswerMatcher(2);
+
+    @Test
+    @Description("Should fold case, accents, compatibility forms and whitespace")
+    void shouldNormalizeAnswer() {
+        //when
+        final String normalized = exactMatcher.normalize("  Źdźbło  ＣAFÉ ", "POL");
+
+        //then
+        assertEquals("zdzblo cafe", normalized);
+    }
+
+    @Test
+    @Description("Should apply language specific rules")
+    void shouldApplyLanguageRules() {
+        //then
+        assertEquals("maedchen strasse", exactMatcher.normalize("Mädchen Straße", "DEU"));
+        assertEquals("istanbul", exactMatcher.normalize("İSTANBUL", "TUR"));
+    }
+
+    @Test
+    @Description("Should accept typos only within configured bound")
+    void shouldMatchWithinTypoBound() {
+        //given
+        final String answer = exactMatcher.normalize("Schmetterling", "DEU");
+
+        //then
+        assertTrue(exactMatcher.matches(answer, "schmetterling"));
+        assertFalse(exactMatcher.matches(answer, "schmeterling"));
+        assertTrue(tolerantMatcher.matches(answer, "schmeterlinj"));
+        assertFalse(tolerantMatcher.matches(answer, "schmterlinj"));
+        assertFalse(tolerantMatcher.matches("cat", "cot"));
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.flashcards.service;
+
+import com.example.flashcards.dto.flashcard.ExportFormat;
+import com.example.flashcards.model.Flashcard;
+import com.example.flashcards.support.JpaServiceTest;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jdk.jfr.Description;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FlashcardExportServiceTest extends JpaServiceTest {
+
+    @Autowired
+    private FlashcardExportService flashcardExportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @Description("Export should stream every flashcard as one NDJSON line")
+    void exportShouldStreamEveryFlashcard() throws IOException {
+        //given
+        final Set<Integer> flashcardsIds = seedFlashcards(120);
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        //when
+        flashcardExportService.exportFlashcards(ExportFormat.NDJSON, USERNAME, outputStream);
+
+        //then
+        final String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(flashcardsIds.size(), lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":"));
+    }
+
+    @Test
+    @Description("NDJSON and CSV exports should write the same fields, with the creation date as an ISO-8601 instant")
+    void exportShouldWriteSameFieldsInBothFormats() throws IOException {
+        //given
+        final Integer flashcardId = seedFlashcards(1).iterator().next();
+        final Flashcard flashcard = entityManager.find(Flashcard.class, flashcardId);
+        final String creationDate = flashcard.getCreationDate().toInstant().toString();
+        final ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        final ByteArrayOutputStream csv = new ByteArrayOutputStream();
+
+        //when
+        flashcardExportService.exportFlashcards(ExportFormat.NDJSON, USERNAME, ndjson);
+        flashcardExportService.exportFlashcards(ExportFormat.CSV, USERNAME, csv);
+
+        //then
+        final Map<String, Object> line = objectMapper.readValue(ndjson.toString(StandardCharsets.UTF_8).trim(),
+                new TypeReference<LinkedHashMap<String, Object>>() {
+                });
+        final Map<String, Object> expectedLine = new LinkedHashMap<>();
+        expectedLine.put("id", flashcardId);
+        expectedLine.put("question", flashcard.getQuestion().getValue());
+        expectedLine.put("questionLangCode", "POL");
+        expectedLine.put("answer", "answer " + flashcardId);
+        expectedLine.put("answerLangCode", "POL");
+        expectedLine.put("creationDate", creationDate);
+        assertEquals(expectedLine, line);
+        assertEquals(List.copyOf(expectedLine.keySet()), List.copyOf(line.keySet()));
+        assertTrue(csv.toString(StandardCharsets.UTF_8).endsWith(",POL," + creationDate + "\r\n"));
+    }
+}
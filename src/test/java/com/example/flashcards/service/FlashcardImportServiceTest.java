@@ -0,0 +1,98 @@
+package com.example.flashcards.service;
+
+import com.example.flashcards.dto.flashcard.ExportFormat;
+import com.example.flashcards.dto.flashcard.ImportErrorDto;
+import com.example.flashcards.dto.flashcard.ImportReportDto;
+import com.example.flashcards.exception.BadRequestException;
+import com.example.flashcards.exception.ConflictException;
+import com.example.flashcards.repository.FlashcardRepository;
+import com.example.flashcards.support.JpaServiceTest;
+import com.example.flashcards.support.StatementCounter;
+import jdk.jfr.Description;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FlashcardImportServiceTest extends JpaServiceTest {
+
+    @Autowired
+    private FlashcardImportService flashcardImportService;
+
+    @Autowired
+    private FlashcardRepository flashcardRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @Description("Import should insert valid rows in batches and report rejected ones")
+    void importShouldInsertValidRowsAndReportErrors() throws Exception {
+        //given
+        seedFlashcards(1);
+        final StringBuilder csv = new StringBuilder("question,question_lang_code,answer,answer_lang_code\r\n");
+        for (int i = 0; i < 1200; i++) {
+            csv.append("\"word, ").append(i).append("\",POL,\"s\"\"owo\",POL\r\n");
+        }
+        csv.append("\"word, 0\",POL,duplicate,POL\r\n");
+        csv.append("unknown,XXX,language,POL\r\n");
+        csv.append(",POL,blank,POL\r\n");
+        final List<ImportReportDto> reports = new ArrayList<>();
+
+        //when
+        final long statements = StatementCounter.count(() -> reports.add(flashcardImportService.importFlashcards(
+                ExportFormat.CSV, USERNAME, new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)))));
+
+        //then
+        final ImportReportDto report = reports.get(0);
+        assertEquals(1200, report.getImported());
+        assertEquals(List.of(1201L, 1202L, 1203L),
+                report.getErrors().stream().map(ImportErrorDto::getRow).collect(Collectors.toList()));
+        assertEquals(1201, flashcardRepository.count());
+        assertEquals("s\"owo", flashcardRepository.findByUserUsernameAndQuestionValue(USERNAME, "word, 7")
+                .orElseThrow().getAnswer().getValue());
+        // Existing hashes, three batches of question, answer and flashcard inserts, the data version.
+        assertEquals(1 + 3 * 3 + 1, statements);
+    }
+
+    @Test
+    @Description("Import should stop and import nothing once too many rows are rejected")
+    void importShouldStopAfterTooManyErrors() {
+        //given
+        final StringBuilder ndjson = new StringBuilder("{\"question\":\"valid\",\"questionLangCode\":\"POL\","
+                + "\"answer\":\"answer\",\"answerLangCode\":\"POL\"}\n");
+        for (int i = 0; i < 1000; i++) {
+            ndjson.append("{\"question\":\"\"}\n");
+        }
+
+        //then
+        final BadRequestException exception = assertThrows(BadRequestException.class, () -> flashcardImportService
+                .importFlashcards(ExportFormat.NDJSON, USERNAME, inputStream(ndjson.toString())));
+        assertTrue(exception.getMessage().startsWith("Import stopped at row 101 "), exception.getMessage());
+    }
+
+    @Test
+    @Description("Import should answer a language removed since the rows were checked with a conflict")
+    void importShouldReportConcurrentChangesAsConflict() {
+        //given
+        final String csv = "question,question_lang_code,answer,answer_lang_code\r\nword,POL,slowo,POL\r\n";
+        jdbcTemplate.update("DELETE FROM language");
+
+        //then
+        assertThrows(ConflictException.class, () -> flashcardImportService.importFlashcards(ExportFormat.CSV, USERNAME,
+                inputStream(csv)));
+    }
+
+    private ByteArrayInputStream inputStream(final String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.flashcards.service;
+
+import com.example.flashcards.dto.flashcard.FlashcardRowDto;
+import com.example.flashcards.repository.FlashcardRepository;
+import jdk.jfr.Description;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FlashcardSearchIndexTest {
+
+    private static final String USERNAME = "username";
+
+    private final FlashcardRepository flashcardRepository = mock(FlashcardRepository.class);
+    private final FlashcardSearchIndex searchIndex = new FlashcardSearchIndex(flashcardRepository, new AnswerMatcher(0), 1_000_000, 10);
+
+    @Test
+    @Description("Should rank exact substrings first, then partial matches, and apply language filters")
+    void shouldRankAndFilterResults() {
+        //given
+        when(flashcardRepository.streamByUsername(USERNAME)).thenAnswer(invocation -> List.of(
+                row(1, "Żółty samochód", "POL", "yellow car", "ENG"),
+                row(2, "Samochód", "POL", "car", "ENG"),
+                row(3, "Samochodzik", "POL", "toy car", "ENG"),
+                row(4, "Samochód", "POL", "Auto", "DEU"),
+                row(5, "Rower", "POL", "bike", "ENG")).stream());
+
+        //when
+        final List<Integer> ids = ids(searchIndex.search(USERNAME, "samochod", false, null, null));
+        final List<Integer> englishIds = ids(searchIndex.search(USERNAME, "samochod", false, "POL", "ENG"));
+        final List<Integer> answerIds = ids(searchIndex.search(USERNAME, "car", true, null, null));
+
+        //then
+        assertEquals(List.of(2, 4, 3, 1), ids);
+        assertEquals(List.of(2, 3, 1), englishIds);
+        assertEquals(List.of(2, 3, 1), answerIds);
+        verify(flashcardRepository, times(1)).streamByUsername(USERNAME);
+    }
+
+    @Test
+    @Description("Should apply created, edited and deleted flashcards without rebuilding the index")
+    void shouldUpdateIndexIncrementally() {
+        //given
+        when(flashcardRepository.streamByUsername(USERNAME)).thenAnswer(invocation -> List.of(
+                row(1, "Kot", "POL", "cat", "ENG"),
+                row(2, "Pies", "POL", "dog", "ENG")).stream());
+        searchIndex.search(USERNAME, "kot", false, null, null);
+
+        //when
+        searchIndex.put(USERNAME, row(3, "Kotek", "POL", "kitten", "ENG"));
+        searchIndex.put(USERNAME, row(2, "Piesek", "POL", "puppy", "ENG"));
+        searchIndex.remove(USERNAME, 1);
+
+        //then
+        assertEquals(List.of(3), ids(searchIndex.search(USERNAME, "kot", false, null, null)));
+        assertEquals(List.of(2), ids(searchIndex.search(USERNAME, "piesek", false, null, null)));
+        verify(flashcardRepository, times(1)).streamByUsername(USERNAME);
+    }
+
+    @Test
+    @Description("Should tolerate a typo through partial trigram matches and find short queries by substring")
+    void shouldMatchTyposAndShortQueries() {
+        //given
+        when(flashcardRepository.streamByUsername(USERNAME)).thenAnswer(invocation -> List.of(
+                row(1, "Schmetterling", "DEU", "butterfly", "ENG"),
+                row(2, "Hund", "DEU", "dog", "ENG")).stream());
+
+        //then
+        assertEquals(List.of(1), ids(searchIndex.search(USERNAME, "schmeterling", false, null, null)));
+        assertEquals(List.of(2), ids(searchIndex.search(USERNAME, "hu", false, null, null)));
+    }
+
+    @Test
+    @Description("Should search a large deck from memory")
+    void shouldSearchLargeDeck() {
+        //given
+        final Random random = new Random(42);
+        final List<String> words = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            final StringBuilder word = new StringBuilder();
+            for (int j = 0; j < 5 + random.nextInt(5); j++) {
+                word.append((char) ('a' + random.nextInt(26)));
+            }
+            words.add(word.toString());
+        }
+        final List<FlashcardRowDto> rows = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            rows.add(row(i, words.get(random.nextInt(words.size())) + " " + words.get(random.nextInt(words.size())) + " "
+                    + words.get(random.nextInt(words.size())), "ENG", "answer " + i, "POL"));
+        }
+        when(flashcardRepository.streamByUsername(USERNAME)).thenAnswer(invocation -> rows.stream());
+        final String query = rows.get(4242).getQuestion().split(" ")[1];
+        for (int i = 0; i < 1_000; i++) {
+            searchIndex.search(USERNAME, query, false, null, null);
+        }
+
+        //when
+        final List<FlashcardRowDto> found = searchIndex.search(USERNAME, query, false, null, null);
+
+        //then
+        assertTrue(found.stream().anyMatch(row -> row.getId() == 4242));
+        assertTrue(found.get(0).getQuestion().contains(query));
+        verify(flashcardRepository, times(1)).streamByUsername(USERNAME);
+    }
+
+    @Test
+    @Description("Writes committed while the index is built should win over the rows its query read before them")
+    void shouldKeepWritesCommittedDuringBuild() {
+        //given
+        when(flashcardRepository.streamByUsername(USERNAME)).thenAnswer(invocation -> Stream.of(1, 2, 3)
+                .map(id -> {
+                    if (id == 1) {
+                        searchIndex.put(USERNAME, row(2, "Piesek", "POL", "puppy", "ENG"));
+                        searchIndex.remove(USERNAME, 3);
+                    }
+                    return row(id, List.of("Kot", "Pies", "Koń").get(id - 1), "POL", "animal", "ENG");
+                }));
+
+        //when
+        final List<Integer> ids = ids(searchIndex.search(USERNAME, "piesek", false, null, null));
+
+        //then
+        assertEquals(List.of(2), ids);
+        assertEquals(List.of(), ids(searchIndex.search(USERNAME, "koń", false, null, null)));
+        assertEquals(List.of(1), ids(searchIndex.search(USERNAME, "kot", false, null, null)));
+        verify(flashcardRepository, times(1)).streamByUsername(USERNAME);
+    }
+
+    @Test
+    @Description("An index invalidated while it is built should be built again")
+    void shouldRebuildIndexInvalidatedDuringBuild() {
+        //given
+        final List<FlashcardRowDto> rows = new ArrayList<>(List.of(row(1, "Kot", "POL", "cat", "ENG")));
+        when(flashcardRepository.streamByUsername(USERNAME))
+                .thenAnswer(invocation -> {
+                    final Stream<FlashcardRowDto> snapshot = List.copyOf(rows).stream();
+                    rows.add(row(2, "Kotek", "POL", "kitten", "ENG"));
+                    searchIndex.invalidate(USERNAME);
+                    return snapshot;
+                })
+                .thenAnswer(invocation -> rows.stream());
+
+        //when
+        final List<Integer> ids = ids(searchIndex.search(USERNAME, "kot", false, null, null));
+
+        //then
+        assertEquals(List.of(1, 2), ids);
+        verify(flashcardRepository, times(2)).streamByUsername(USERNAME);
+    }
+
+    private List<Integer> ids(final List<FlashcardRowDto> rows) {
+        return rows.stream().map(FlashcardRowDto::getId).collect(Collectors.toList());
+    }
+
+    private FlashcardRowDto row(final int id, final String question, final String questionLangCode, final String answer,
+                                final String answerLangCode) {
+        return new FlashcardRowDto(id, question, questionLangCode, answer, answerLangCode, new Date(), question);
+    }
+}
@@ -0,0 +1,220 @@
+package com.example.flashcards.service;
+
+import com.example.flashcards.dto.PageDto;
+import com.example.flashcards.dto.flashcard.AnswerDto;
+import com.example.flashcards.dto.flashcard.DueFlashcardDto;
+import com.example.flashcards.dto.flashcard.FlashcardDto;
+import com.example.flashcards.dto.flashcard.QuestionDto;
+import com.example.flashcards.dto.quiz.QuizFlashcardResultDto;
+import com.example.flashcards.dto.quiz.QuizResultDto;
+import com.example.flashcards.dto.quiz.QuizSolveDto;
+import com.example.flashcards.exception.BadRequestException;
+import com.example.flashcards.exception.ConflictException;
+import com.example.flashcards.exception.NotFoundException;
+import com.example.flashcards.model.Flashcard;
+import com.example.flashcards.repository.FlashcardRepository;
+import com.example.flashcards.support.JpaServiceTest;
+import com.example.flashcards.support.StatementCounter;
+import com.google.common.collect.Sets;
+import jdk.jfr.Description;
+import net.ttddyy.dsproxy.QueryCountHolder;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FlashcardServiceTest extends JpaServiceTest {
+
+    @Autowired
+    private FlashcardService flashcardService;
+
+    @Autowired
+    private FlashcardRepository flashcardRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @Description("Solved flashcards should be rescheduled and due flashcards read with a single statement")
+    void solvedFlashcardsShouldLeaveDueFlashcards() throws Exception {
+        //given
+        final Set<Integer> flashcardsIds = seedFlashcards(50);
+        final Set<Integer> solvedFlashcardsIds = flashcardsIds.stream().limit(30).collect(Collectors.toSet());
+        final Integer quizId = createQuiz("quiz", solvedFlashcardsIds);
+        quizService.solveQuiz(quizId, solvedFlashcardsIds.stream()
+                .map(flashcardId -> new QuizSolveDto(flashcardId, "answer " + flashcardId))
+                .collect(Collectors.toList()), USERNAME);
+        entityManager.flush();
+        entityManager.clear();
+        final List<DueFlashcardDto> dueFlashcards = new ArrayList<>();
+
+        //when
+        final long statements = StatementCounter.count(() -> dueFlashcards.addAll(flashcardService.getDueFlashcards(100, USERNAME)));
+
+        //then
+        assertEquals(1, statements);
+        assertEquals(Sets.difference(flashcardsIds, solvedFlashcardsIds),
+                dueFlashcards.stream().map(DueFlashcardDto::getId).collect(Collectors.toSet()));
+        final Flashcard solved = entityManager.find(Flashcard.class, solvedFlashcardsIds.iterator().next());
+        assertEquals(1, solved.getRepetitions());
+        assertEquals(1, solved.getReviewInterval());
+    }
+
+    @Test
+    @Description("Flashcard pages should follow each other without gaps and cost a single statement each")
+    void flashcardPagesShouldCoverAllFlashcards() {
+        //given
+        final Set<Integer> flashcardsIds = seedFlashcards(120);
+        final Set<Integer> pagedFlashcardsIds = new HashSet<>();
+        final List<Long> statementsByPage = new ArrayList<>();
+        String cursor = null;
+
+        //when
+        do {
+            QueryCountHolder.clear();
+            final PageDto<FlashcardDto> page = flashcardService.getFlashcards(cursor, 50, USERNAME);
+            statementsByPage.add(QueryCountHolder.getGrandTotal().getTotal());
+            page.getContent().forEach(flashcard -> assertTrue(pagedFlashcardsIds.add(flashcard.getId())));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        //then
+        assertEquals(flashcardsIds, pagedFlashcardsIds);
+        assertEquals(List.of(1L, 1L, 1L), statementsByPage);
+    }
+
+    @Test
+    @Description("Sorted pages should follow the requested order and filters and cost a single statement each")
+    void sortedPagesShouldFollowOrderAndFilters() {
+        //given
+        seedFlashcards(120);
+        final String prefix = "Question A";
+        final List<String> expectedQuestions = flashcardRepository.findAll().stream()
+                .map(flashcard -> flashcard.getQuestion().getValue())
+                .filter(question -> question.startsWith("question a"))
+                .sorted(Comparator.reverseOrder())
+                .collect(Collectors.toList());
+        final List<String> pagedQuestions = new ArrayList<>();
+        final List<Long> statementsByPage = new ArrayList<>();
+        String cursor = null;
+
+        //when
+        do {
+            QueryCountHolder.clear();
+            final PageDto<FlashcardDto> page = flashcardService.sortFlashcards("POL", null, prefix, "question", "desc",
+                    cursor, 3, USERNAME);
+            statementsByPage.add(QueryCountHolder.getGrandTotal().getTotal());
+            page.getContent().forEach(flashcard -> pagedQuestions.add(flashcard.getQuestion().getValue()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        //then
+        assertEquals(expectedQuestions, pagedQuestions);
+        assertTrue(statementsByPage.stream().allMatch(statements -> statements == 1L), statementsByPage.toString());
+        assertTrue(flashcardService.sortFlashcards("ENG", null, null, "language", "asc", null, 50, USERNAME)
+                .getContent().isEmpty());
+    }
+
+    @Test
+    @Description("Duplicate questions should be detected through the question hash index")
+    void createFlashcardShouldRejectDuplicateQuestion() {
+        //given
+        final FlashcardDto flashcardDto = flashcard("Żółw", "turtle");
+        final Integer id = flashcardService.createFlashcard(flashcardDto, USERNAME).getId();
+        final FlashcardDto duplicateDto = flashcard(" zolw ", "tortoise");
+
+        //when
+        flashcardService.editFlashcard(id, flashcardDto, USERNAME);
+
+        //then
+        assertThrows(ConflictException.class, () -> flashcardService.createFlashcard(duplicateDto, USERNAME));
+    }
+
+    @Test
+    @Description("A language removed through another instance should be reported as not found, not as a duplicate")
+    void createFlashcardShouldRejectRemovedLanguage() {
+        //given
+        final FlashcardDto flashcardDto = flashcard("question", "answer");
+        entityManager.clear();
+        jdbcTemplate.update("DELETE FROM language");
+
+        //then
+        final NotFoundException exception = assertThrows(NotFoundException.class,
+                () -> flashcardService.createFlashcard(flashcardDto, USERNAME));
+        assertEquals("Language not found", exception.getMessage());
+    }
+
+    @Test
+    @Description("Editing an answer should re-score the quizzes already answered with the flashcard")
+    void answerEditShouldRescoreQuizzes() {
+        //given
+        final List<Integer> flashcardsIds = new ArrayList<>(seedFlashcards(2));
+        final Integer correctId = flashcardsIds.get(0);
+        final Integer wrongId = flashcardsIds.get(1);
+        final Integer quizId = createQuiz("quiz", Set.copyOf(flashcardsIds));
+        quizService.solveQuiz(quizId, List.of(new QuizSolveDto(correctId, "answer " + correctId),
+                new QuizSolveDto(wrongId, "turtle")), USERNAME);
+
+        //when
+        flashcardService.editFlashcard(wrongId, flashcard("question " + wrongId, "Turtle"), USERNAME);
+        flashcardService.editFlashcard(correctId, flashcard("question " + correctId, "tortoise"), USERNAME);
+        entityManager.flush();
+        entityManager.clear();
+
+        //then
+        final QuizResultDto results = quizService.getResults(quizId, USERNAME);
+        assertEquals(1, results.getCorrectCount());
+        assertEquals(50, results.getQuizData().getScore());
+        final Map<Integer, Boolean> correctByFlashcardId = results.getFlashcards().stream()
+                .collect(Collectors.toMap(QuizFlashcardResultDto::getId, QuizFlashcardResultDto::isCorrect));
+        assertEquals(Map.of(correctId, false, wrongId, true), correctByFlashcardId);
+    }
+
+    @Test
+    @Description("Flashcards used in a quiz should not be deleted, unused ones should go with their question and answer")
+    void deleteFlashcardShouldOnlyRemoveUnusedFlashcards() {
+        //given
+        final List<Integer> flashcardsIds = new ArrayList<>(seedFlashcards(2));
+        final Integer usedId = flashcardsIds.get(0);
+        final Integer unusedId = flashcardsIds.get(1);
+        createQuiz("quiz", Set.of(usedId));
+
+        //when
+        flashcardService.deleteFlashcardById(unusedId, USERNAME);
+
+        //then
+        assertThrows(BadRequestException.class, () -> flashcardService.deleteFlashcardById(usedId, USERNAME));
+        assertThrows(NotFoundException.class, () -> flashcardService.deleteFlashcardById(unusedId, USERNAME));
+        assertEquals(List.of(usedId), jdbcTemplate.queryForList("SELECT id FROM flashcard", Integer.class));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM question", Integer.class));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM answer", Integer.class));
+    }
+
+    @Test
+    @Description("Flashcards of another user should not be found")
+    void otherUsersShouldNotReachFlashcards() {
+        //given
+        final Integer flashcardId = seedFlashcards(1).iterator().next();
+        final String otherUsername = "other";
+        final FlashcardDto flashcardDto = flashcard("question", "answer");
+
+        //then
+        assertThrows(NotFoundException.class, () -> flashcardService.getFlashcardById(flashcardId, otherUsername));
+        assertThrows(NotFoundException.class, () -> flashcardService.editFlashcard(flashcardId, flashcardDto, otherUsername));
+        assertThrows(NotFoundException.class, () -> flashcardService.deleteFlashcardById(flashcardId, otherUsername));
+        assertEquals(flashcardId, flashcardService.getFlashcardById(flashcardId, USERNAME).getId());
+    }
+
+    private FlashcardDto flashcard(final String question, final String answer) {
+        return FlashcardDto.builder()
+                .question(QuestionDto.builder().value(question).langCode("POL").build())
+                .answer(AnswerDto.builder().value(answer).langCode("POL").build())
+                .build();
+    }
+}
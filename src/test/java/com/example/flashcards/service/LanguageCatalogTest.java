@@ -0,0 +1,61 @@
+package com.example.flashcards.service;
+
+import com.example.flashcards.dto.flashcard.LanguageDto;
+import com.example.flashcards.model.Language;
+import com.example.flashcards.repository.LanguageRepository;
+import jdk.jfr.Description;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LanguageCatalogTest {
+
+    private final LanguageRepository languageRepository = mock(LanguageRepository.class);
+    // Expired right after every load.
+    private final LanguageCatalog languageCatalog = new LanguageCatalog(languageRepository, 0);
+
+    @Test
+    @Description("An expired snapshot should be reloaded by one caller while the others keep reading the old one")
+    void expiredSnapshotShouldBeReloadedOnce() throws Exception {
+        //given
+        final CountDownLatch reloading = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        when(languageRepository.findAll())
+                .thenReturn(List.of(language("POL")))
+                .thenAnswer(invocation -> {
+                    reloading.countDown();
+                    release.await(30, TimeUnit.SECONDS);
+                    return List.of(language("POL"), language("ENG"));
+                });
+        languageCatalog.getLanguages();
+
+        //when
+        final CompletableFuture<List<String>> reloaded = CompletableFuture.supplyAsync(() -> langCodes(languageCatalog.getLanguages()));
+        reloading.await(30, TimeUnit.SECONDS);
+        final List<String> duringReload = langCodes(languageCatalog.getLanguages());
+        release.countDown();
+
+        //then
+        assertEquals(List.of("POL"), duringReload);
+        assertEquals(List.of("POL", "ENG"), reloaded.get(30, TimeUnit.SECONDS));
+        verify(languageRepository, times(2)).findAll();
+    }
+
+    private List<String> langCodes(final List<LanguageDto> languages) {
+        return languages.stream().map(LanguageDto::getLangCode).collect(Collectors.toList());
+    }
+
+    private Language language(final String langCode) {
+        return Language.builder().id(langCode.hashCode()).langCode(langCode).name(langCode).build();
+    }
+}
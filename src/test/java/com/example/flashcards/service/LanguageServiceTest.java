@@ -7,7 +7,6 @@ import com.example.flashcards.exception.NotFoundException;
 import com.example.flashcards.model.*;
 import com.example.flashcards.repository.FlashcardRepository;
 import com.example.flashcards.repository.LanguageRepository;
-import com.example.flashcards.repository.UserRepository;
 import com.example.flashcards.validation.LanguageValidator;
 import jdk.jfr.Description;
 import org.junit.jupiter.api.Test;
@@ -18,7 +17,6 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.context.junit4.SpringRunner;
 
-import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -30,14 +28,14 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(SpringRunner.class)
-@SpringBootTest(classes = LanguageService.class)
+@SpringBootTest(classes = {LanguageService.class, LanguageCatalog.class})
 class LanguageServiceTest {
 
     @Autowired
     private LanguageService languageService;
 
-    @MockBean
-    private UserRepository userRepository;
+    @Autowired
+    private LanguageCatalog languageCatalog;
 
     @MockBean
     private LanguageRepository languageRepository;
@@ -48,7 +46,6 @@ class LanguageServiceTest {
     @MockBean
     private LanguageValidator languageValidator;
 
-    private static final String USER_NOT_FOUND_EXCEPTION_MESSAGE = "User not found";
     private static final String LANGUAGE_NOT_FOUND_EXCEPTION_MESSAGE = "Language not found";
 
     @Test
@@ -56,13 +53,12 @@ class LanguageServiceTest {
     void getLanguagesShouldReturnListOfLanguagesDto() {
         //given
         final String username = "username";
-        final User user = buildUser(username);
         final Language polish = buildLanguage("POL", "Polish");
         final Language english = buildLanguage("ENG", "English");
 
         //when
-        when(userRepository.findUserByUsername(username)).thenReturn(Optional.of(user));
         when(languageRepository.findAll()).thenReturn(List.of(polish, english));
+        languageCatalog.refresh();
         final List<LanguageDto> languageDtos = languageService.getLanguages(username);
 
         //then
@@ -74,33 +70,17 @@ class LanguageServiceTest {
     }
 
 
-    @Test
-    @Description("getLanguages should throw 404 when user is not found")
-    void getLanguagesShouldThrowNotFoundWhenUserDoesNotExist() {
-        //given
-        final String username = "username";
-
-        //when
-        when(userRepository.findUserByUsername(username)).thenReturn(Optional.empty());
-
-        //then
-        final NotFoundException exception =
-                assertThrows(NotFoundException.class, () -> languageService.getLanguages(username));
-        assertEquals(USER_NOT_FOUND_EXCEPTION_MESSAGE, exception.getMessage());
-    }
-
     @Test
     @Description("getLanguageByLangCode should return language data")
     void getLanguageByLangCodeShouldReturnLanguageDto() {
         //given
         final String langCode = "POL";
         final String username = "username";
-        final User user = buildUser(username);
         final Language polish = buildLanguage(langCode, "Polish");
 
         //when
-        when(userRepository.findUserByUsername(username)).thenReturn(Optional.of(user));
-        when(languageRepository.findByLangCode(langCode)).thenReturn(Optional.of(polish));
+        when(languageRepository.findAll()).thenReturn(List.of(polish));
+        languageCatalog.refresh();
         final LanguageDto languageDto = languageService.getLanguageByLangCode(langCode, username);
 
         //then
@@ -109,33 +89,16 @@ class LanguageServiceTest {
     }
 
 
-    @Test
-    @Description("getLanguageByLangCode should throw 404 when user is not found")
-    void getLanguageByLangCodeShouldThrowNotFoundWhenUserDoesNotExist() {
-        //given
-        final String langCode = "POL";
-        final String username = "username";
-
-        //when
-        when(userRepository.findUserByUsername(username)).thenReturn(Optional.empty());
-
-        //then
-        final NotFoundException exception =
-                assertThrows(NotFoundException.class, () -> languageService.getLanguageByLangCode(langCode, username));
-        assertEquals(USER_NOT_FOUND_EXCEPTION_MESSAGE, exception.getMessage());
-    }
-
     @Test
     @Description("getLanguageByLangCode should throw 404 when language is not found")
     void getLanguageByLangCodeShouldThrowNotFoundWhenLanguageDoesNotExist() {
         //given
         final String langCode = "POL";
         final String username = "username";
-        final User user = buildUser(username);
 
         //when
-        when(userRepository.findUserByUsername(username)).thenReturn(Optional.of(user));
-        when(languageRepository.findByLangCode(langCode)).thenReturn(Optional.empty());
+        when(languageRepository.findAll()).thenReturn(List.of());
+        languageCatalog.refresh();
 
         //then
         final NotFoundException exception =
@@ -143,26 +106,6 @@ class LanguageServiceTest {
         assertEquals(LANGUAGE_NOT_FOUND_EXCEPTION_MESSAGE, exception.getMessage());
     }
 
-    @Test
-    @Description("createLanguage should throw 404 when user is not found")
-    void createLanguageShouldThrowNotFoundWhenUserDoesNotExist() {
-        //given
-        final String langCode = "POL";
-        final String username = "username";
-        final LanguageDto languageDto = LanguageDto.builder()
-                .langCode(langCode)
-                .name("polski")
-                .build();
-
-        //when
-        when(userRepository.findUserByUsername(username)).thenReturn(Optional.empty());
-
-        //then
-        final NotFoundException exception =
-                assertThrows(NotFoundException.class, () -> languageService.createLanguage(languageDto, username));
-        assertEquals(USER_NOT_FOUND_EXCEPTION_MESSAGE, exception.getMessage());
-    }
-
     @Test
     @Description("createLanguage should throw 409 when language already exists")
     void createLanguageShouldThrowConflictWhenLanguageAlreadyExist() {
@@ -170,7 +113,6 @@ class LanguageServiceTest {
         final String langCode = "POL";
         final String username = "username";
         final String exceptionMessage = "Language already exists";
-        final User user = buildUser(username);
         final Language language = buildLanguage(langCode, "polski");
         final LanguageDto languageDto = LanguageDto.builder()
                 .langCode(langCode)
@@ -178,8 +120,8 @@ class LanguageServiceTest {
                 .build();
 
         //when
-        when(userRepository.findUserByUsername(username)).thenReturn(Optional.of(user));
         when(languageRepository.findAll()).thenReturn(List.of(language));
+        languageCatalog.refresh();
 
         //then
         final ConflictException exception = assertThrows(ConflictException.class, () -> languageService.createLanguage(languageDto, username));
@@ -192,38 +134,18 @@ class LanguageServiceTest {
         //given
         final String langCode = "POL";
         final String username = "username";
-        final User user = buildUser(username);
         final LanguageDto languageDto = LanguageDto.builder()
                 .langCode(langCode)
                 .name("polski")
                 .build();
 
         //when
-        when(userRepository.findUserByUsername(username)).thenReturn(Optional.of(user));
         when(languageRepository.findAll()).thenReturn(List.of());
+        languageCatalog.refresh();
         languageService.createLanguage(languageDto, username);
 
         //then
-        verify(languageRepository).save(any(Language.class));
-    }
-
-    @Test
-    @Description("editLanguageData should throw 404 when user is not found")
-    void editLanguageDataShouldThrowNotFoundWhenUserDoesNotExist() {
-        //given
-        final String langCode = "POL";
-        final String username = "username";
-        final LanguageDto languageDto = LanguageDto.builder()
-                .name("pl")
-                .build();
-
-        //when
-        when(userRepository.findUserByUsername(username)).thenReturn(Optional.empty());
-
-        //then
-        final NotFoundException exception =
-                assertThrows(NotFoundException.class, () -> languageService.editLanguageData(langCode, languageDto, username));
-        assertEquals(USER_NOT_FOUND_EXCEPTION_MESSAGE, exception.getMessage());
+        verify(languageRepository).saveAndFlush(any(Language.class));
     }
 
     @Test
@@ -232,13 +154,11 @@ class LanguageServiceTest {
         //given
         final String langCode = "POL";
         final String username = "username";
-        final User user = buildUser(username);
         final LanguageDto languageDto = LanguageDto.builder()
                 .name("pl")
                 .build();
 
         //when
-        when(userRepository.findUserByUsername(username)).thenReturn(Optional.of(user));
         when(languageRepository.findByLangCode(langCode)).thenReturn(Optional.empty());
 
 
@@ -255,14 +175,12 @@ class LanguageServiceTest {
         final String langCode = "POL";
         final String newLanguageName = "pl";
         final String username = "username";
-        final User user = buildUser(username);
         final Language language = buildLanguage(langCode, "polski");
         final LanguageDto languageDto = LanguageDto.builder()
                 .name(newLanguageName)
                 .build();
 
         //when
-        when(userRepository.findUserByUsername(username)).thenReturn(Optional.of(user));
         when(languageRepository.findByLangCode(langCode)).thenReturn(Optional.of(language));
         languageService.editLanguageData(langCode, languageDto, username);
 
@@ -276,32 +194,14 @@ class LanguageServiceTest {
 
     }
 
-    @Test
-    @Description("deleteLanguage should throw 404 when user is not found")
-    void deleteLanguageShouldThrowNotFoundWhenUserDoesNotExist() {
-        //given
-        final String langCode = "POL";
-        final String username = "username";
-
-        //when
-        when(userRepository.findUserByUsername(username)).thenReturn(Optional.empty());
-
-        //then
-        final NotFoundException exception =
-                assertThrows(NotFoundException.class, () -> languageService.deleteLanguage(langCode, username));
-        assertEquals(USER_NOT_FOUND_EXCEPTION_MESSAGE, exception.getMessage());
-    }
-
     @Test
     @Description("deleteLanguage should throw 404 when language is not found")
     void deleteLanguageShouldThrowNotFoundWhenLanguageDoesNotExist() {
         //given
         final String langCode = "POL";
         final String username = "username";
-        final User user = buildUser(username);
 
         //when
-        when(userRepository.findUserByUsername(username)).thenReturn(Optional.of(user));
         when(languageRepository.findByLangCode(langCode)).thenReturn(Optional.empty());
 
         //then
@@ -317,15 +217,11 @@ class LanguageServiceTest {
         final String langCode = "POL";
         final String username = "username";
         final String exceptionMessage = "Could not remove language";
-        final User user = buildUser(username);
         final Language language = buildLanguage(langCode, "polski");
-        final List<Flashcard> questionFlashcards = List.of(buildFlashcard(language, user));
 
         //when
-        when(userRepository.findUserByUsername(username)).thenReturn(Optional.of(user));
         when(languageRepository.findByLangCode(langCode)).thenReturn(Optional.of(language));
-        when(flashcardRepository.findAllByQuestionLanguageLangCode(langCode)).thenReturn(questionFlashcards);
-        when(flashcardRepository.findAllByAnswerLanguageLangCode(langCode)).thenReturn(List.of());
+        when(flashcardRepository.existsByQuestionLanguageLangCode(langCode)).thenReturn(true);
 
         //then
         final BadRequestException exception =
@@ -340,15 +236,12 @@ class LanguageServiceTest {
         final String langCode = "POL";
         final String username = "username";
         final String exceptionMessage = "Could not remove language";
-        final User user = buildUser(username);
         final Language language = buildLanguage(langCode, "polski");
-        final List<Flashcard> answerFlashcards = List.of(buildFlashcard(language, user));
 
         //when
-        when(userRepository.findUserByUsername(username)).thenReturn(Optional.of(user));
         when(languageRepository.findByLangCode(langCode)).thenReturn(Optional.of(language));
-        when(flashcardRepository.findAllByQuestionLanguageLangCode(langCode)).thenReturn(List.of());
-        when(flashcardRepository.findAllByAnswerLanguageLangCode(langCode)).thenReturn(answerFlashcards);
+        when(flashcardRepository.existsByQuestionLanguageLangCode(langCode)).thenReturn(false);
+        when(flashcardRepository.existsByAnswerLanguageLangCode(langCode)).thenReturn(true);
 
         //then
         final BadRequestException exception =
@@ -363,30 +256,18 @@ class LanguageServiceTest {
         final String langCode = "POL";
         final String username = "username";
         final String exceptionMessage = "Could not remove language";
-        final User user = buildUser(username);
         final Language language = buildLanguage(langCode, "polski");
 
         //when
-        when(userRepository.findUserByUsername(username)).thenReturn(Optional.of(user));
         when(languageRepository.findByLangCode(langCode)).thenReturn(Optional.of(language));
-        when(flashcardRepository.findAllByQuestionLanguageLangCode(langCode)).thenReturn(List.of());
-        when(flashcardRepository.findAllByAnswerLanguageLangCode(langCode)).thenReturn(List.of());
+        when(flashcardRepository.existsByQuestionLanguageLangCode(langCode)).thenReturn(false);
+        when(flashcardRepository.existsByAnswerLanguageLangCode(langCode)).thenReturn(false);
         languageService.deleteLanguage(langCode, username);
 
         //then
         verify(languageRepository).deleteByLangCode(langCode);
     }
 
-    private User buildUser(final String username) {
-        return User.builder()
-                .username(username)
-                .email("test@example.com")
-                .role("user")
-                .flashcards(Set.of())
-                .quizzes(Set.of())
-                .build();
-    }
-
     private Language buildLanguage(final String langCode, final String languageName) {
         return Language.builder()
                 .langCode(langCode)
@@ -395,32 +276,4 @@ class LanguageServiceTest {
                 .questions(Set.of())
                 .build();
     }
-
-    private Flashcard buildFlashcard(final Language language, final User user) {
-        return Flashcard.builder()
-                .id(1)
-                .isUsed(false)
-                .creationDate(new Date())
-                .question(buildQuestion(language))
-                .answer(buildAnswer(language))
-                .user(user)
-                .quizFlashcards(Set.of())
-                .build();
-    }
-
-    private Question buildQuestion(final Language language) {
-        return Question.builder()
-                .id(1)
-                .language(language)
-                .value("question value")
-                .build();
-    }
-
-    private Answer buildAnswer(final Language language) {
-        return Answer.builder()
-                .id(1)
-                .language(language)
-                .value("answer value")
-                .build();
-    }
 }
@@ -0,0 +1,80 @@
+package com.example.flashcards.service;
+
+import com.example.flashcards.exception.ServiceUnavailableException;
+import jdk.jfr.Description;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHasherTest {
+
+    private final PasswordHasher passwordHasher = new PasswordHasher(new BCryptPasswordEncoder(4), 4, 1, 1, 5000);
+
+    @AfterEach
+    void tearDown() {
+        passwordHasher.shutdown();
+    }
+
+    @Test
+    @Description("Should encode and match passwords on the hashing pool")
+    void shouldEncodeAndMatchPassword() {
+        //when
+        final String encoded = passwordHasher.encode("Fl4sh#Cards!");
+
+        //then
+        assertTrue(passwordHasher.matches("Fl4sh#Cards!", encoded));
+        assertFalse(passwordHasher.matches("wrong", encoded));
+        assertFalse(passwordHasher.matches("Fl4sh#Cards!", null));
+        assertFalse(passwordHasher.matches(null, encoded));
+    }
+
+    @Test
+    @Description("Should ask for a rehash only when the stored cost differs from the configured one")
+    void shouldDetectCostChange() {
+        //then
+        assertFalse(passwordHasher.needsRehash(new BCryptPasswordEncoder(4).encode("password")));
+        assertTrue(passwordHasher.needsRehash(new BCryptPasswordEncoder(5).encode("password")));
+        assertTrue(passwordHasher.needsRehash("plain"));
+    }
+
+    @Test
+    @Description("Should reject work right away once the pool and its queue are full")
+    void shouldRejectWhenSaturated() throws Exception {
+        //given
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> passwordHasher.submit(() -> {
+            started.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        }));
+        started.await(5, TimeUnit.SECONDS);
+        final CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> passwordHasher.submit(() -> true));
+        while (!queuedTaskWaiting()) {
+            Thread.onSpinWait();
+        }
+
+        //when
+        final long start = System.nanoTime();
+        assertThrows(ServiceUnavailableException.class, () -> passwordHasher.encode("password"));
+        final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        release.countDown();
+
+        //then
+        assertTrue(elapsedMillis < 1000, elapsedMillis + " ms");
+        assertTrue(running.get(5, TimeUnit.SECONDS));
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+    }
+
+    private boolean queuedTaskWaiting() {
+        final ThreadPoolExecutor executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(passwordHasher, "executor");
+        return executor.getQueue().size() == 1;
+    }
+}
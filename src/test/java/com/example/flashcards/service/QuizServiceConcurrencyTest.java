@@ -0,0 +1,182 @@
+package com.example.flashcards.service;
+
+import com.example.flashcards.dto.flashcard.AnswerDto;
+import com.example.flashcards.dto.flashcard.FlashcardDto;
+import com.example.flashcards.dto.flashcard.QuestionDto;
+import com.example.flashcards.dto.quiz.QuizEditDto;
+import com.example.flashcards.dto.quiz.QuizSolveDto;
+import com.example.flashcards.exception.NotFoundException;
+import com.example.flashcards.model.Quiz;
+import com.example.flashcards.repository.QuizRepository;
+import com.example.flashcards.support.JpaServiceTest;
+import jdk.jfr.Description;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Service calls racing on the same quiz, each committing its own transaction.
+ */
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class QuizServiceConcurrencyTest extends JpaServiceTest {
+
+    private static final int ROUNDS = 20;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private QuizRepository quizRepository;
+
+    @Autowired
+    private FlashcardService flashcardService;
+
+    @AfterEach
+    void tearDown() {
+        List.of("quiz_flashcard", "quiz", "flashcard", "question", "answer", "language", "users")
+                .forEach(table -> jdbcTemplate.update("DELETE FROM " + table));
+    }
+
+    @Test
+    @Description("Overlapping edits removing the same flashcard should release it once")
+    void overlappingEditsShouldReleaseFlashcardOnce() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            //given
+            final List<Integer> flashcardsIds = new ArrayList<>(seedFlashcards(2));
+            final Integer quizId = createQuiz("quiz", Set.copyOf(flashcardsIds));
+            final QuizEditDto quizEditDto = QuizEditDto.builder()
+                    .name("edited quiz")
+                    .flashcardsId(Set.of(flashcardsIds.get(0)))
+                    .build();
+
+            //when
+            runConcurrently(() -> quizService.editQuiz(quizId, quizEditDto, USERNAME),
+                    () -> quizService.editQuiz(quizId, quizEditDto, USERNAME));
+
+            //then
+            assertEquals(1, usageCount(flashcardsIds.get(0)));
+            assertEquals(0, usageCount(flashcardsIds.get(1)));
+        }
+    }
+
+    @Test
+    @Description("A quiz deleted while it is edited should release each flashcard it ended up with exactly once")
+    void deleteOverlappingEditShouldReleaseFlashcardsOnce() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            //given
+            final List<Integer> flashcardsIds = new ArrayList<>(seedFlashcards(3));
+            final Integer quizId = createQuiz("quiz", Set.of(flashcardsIds.get(0), flashcardsIds.get(1)));
+            final QuizEditDto quizEditDto = QuizEditDto.builder()
+                    .name("edited quiz")
+                    .flashcardsId(Set.of(flashcardsIds.get(0), flashcardsIds.get(2)))
+                    .build();
+
+            //when
+            runConcurrently(() -> quizService.deleteQuizById(quizId, USERNAME),
+                    () -> editIfPresent(quizId, quizEditDto));
+
+            //then
+            flashcardsIds.forEach(flashcardId -> assertEquals(0, usageCount(flashcardId)));
+        }
+    }
+
+    @Test
+    @Description("An answer submitted while the quiz is solved should be kept in the score")
+    void submittedAnswerShouldSurviveConcurrentSolve() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            //given
+            final List<Integer> flashcardsIds = new ArrayList<>(seedFlashcards(2));
+            final Integer solvedId = flashcardsIds.get(0);
+            final Integer submittedId = flashcardsIds.get(1);
+            final Integer quizId = createQuiz("quiz", Set.copyOf(flashcardsIds));
+
+            //when
+            runConcurrently(() -> quizService.solveQuiz(quizId, List.of(new QuizSolveDto(solvedId, "answer " + solvedId)), USERNAME),
+                    () -> quizService.submitAnswer(quizId, new QuizSolveDto(submittedId, "answer " + submittedId), USERNAME));
+
+            //then
+            final Quiz quiz = quizRepository.findById(quizId).orElseThrow();
+            assertEquals(2, quiz.getAnsweredCount());
+            assertEquals(2, quiz.getCorrectCount());
+            assertEquals(100, quiz.getScore());
+        }
+    }
+
+    // The edit may come after the delete committed and find no quiz.
+    private void editIfPresent(final Integer quizId, final QuizEditDto quizEditDto) {
+        try {
+            quizService.editQuiz(quizId, quizEditDto, USERNAME);
+        } catch (final NotFoundException e) {
+        }
+    }
+
+    @Test
+    @Description("An answer submitted while the flashcard's answer is edited should be scored against one of them only")
+    void submittedAnswerShouldFollowConcurrentRescore() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            //given
+            final List<Integer> flashcardsIds = new ArrayList<>(seedFlashcards(2));
+            final Integer flashcardId = flashcardsIds.get(0);
+            final Integer quizId = createQuiz("quiz", Set.copyOf(flashcardsIds));
+            final QuizSolveDto quizSolveDto = new QuizSolveDto(flashcardId, "answer " + flashcardId);
+            quizService.submitAnswer(quizId, quizSolveDto, USERNAME);
+            final FlashcardDto flashcardDto = FlashcardDto.builder()
+                    .question(QuestionDto.builder().value("question " + flashcardId).langCode("POL").build())
+                    .answer(AnswerDto.builder().value("turtle").langCode("POL").build())
+                    .build();
+
+            //when
+            runConcurrently(() -> flashcardService.editFlashcard(flashcardId, flashcardDto, USERNAME),
+                    () -> quizService.submitAnswer(quizId, quizSolveDto, USERNAME));
+
+            //then
+            final Quiz quiz = quizRepository.findById(quizId).orElseThrow();
+            assertEquals(1, quiz.getAnsweredCount());
+            assertEquals(0, quiz.getCorrectCount());
+            assertEquals(0, quiz.getScore());
+            assertFalse(jdbcTemplate.queryForObject("SELECT correct FROM quiz_flashcard WHERE quiz_id = ? " +
+                    "AND flashcard_id = ?", Boolean.class, quizId, flashcardId));
+        }
+    }
+
+    private int usageCount(final Integer flashcardId) {
+        return jdbcTemplate.queryForObject("SELECT usage_count FROM flashcard WHERE id = ?", Integer.class, flashcardId);
+    }
+
+    // Starts both calls together and rethrows what either of them threw.
+    private void runConcurrently(final Runnable first, final Runnable second) throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final CountDownLatch start = new CountDownLatch(1);
+            final List<Future<?>> futures = new ArrayList<>();
+            for (final Runnable call : List.of(first, second)) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    call.run();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (final Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.flashcards.service;
+
+import com.example.flashcards.dto.quiz.QuizDetailsDto;
+import com.example.flashcards.dto.quiz.QuizEditDto;
+import com.example.flashcards.dto.quiz.QuizResultDto;
+import com.example.flashcards.dto.quiz.QuizSolveDto;
+import com.example.flashcards.exception.NotFoundException;
+import com.example.flashcards.model.Quiz;
+import com.example.flashcards.repository.QuizRepository;
+import com.example.flashcards.support.JpaServiceTest;
+import com.example.flashcards.support.StatementCounter;
+import jdk.jfr.Description;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class QuizServiceTest extends JpaServiceTest {
+
+    private static final List<Integer> QUIZ_SIZES = List.of(5, 50, 500);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private QuizRepository quizRepository;
+
+    @Test
+    @Description("createQuiz should issue the same number of statements regardless of quiz size")
+    void createQuizStatementCountShouldNotDependOnQuizSize() throws Exception {
+        assertStatementCountIndependentOfQuizSize(flashcardsIds ->
+                () -> createQuiz("quiz " + flashcardsIds.size(), flashcardsIds));
+    }
+
+    @Test
+    @Description("editQuiz should issue the same number of statements regardless of quiz size and diff size")
+    void editQuizStatementCountShouldNotDependOnQuizSize() throws Exception {
+        assertStatementCountIndependentOfQuizSize(flashcardsIds -> {
+            final int quizSize = flashcardsIds.size();
+            final Integer quizId = createQuiz("quiz " + quizSize, flashcardsIds);
+            final Set<Integer> editedFlashcardsIds = new HashSet<>(seedFlashcards(quizSize / 2));
+            flashcardsIds.stream().limit(quizSize - quizSize / 2).forEach(editedFlashcardsIds::add);
+            final QuizEditDto quizEditDto = QuizEditDto.builder()
+                    .name("edited quiz " + quizSize)
+                    .flashcardsId(editedFlashcardsIds)
+                    .build();
+            return () -> quizService.editQuiz(quizId, quizEditDto, USERNAME);
+        });
+    }
+
+    @Test
+    @Description("solveQuiz should score the quiz with the same number of statements regardless of quiz size")
+    void solveQuizStatementCountShouldNotDependOnQuizSize() throws Exception {
+        //given
+        final Map<Integer, Integer> expectedScoresByQuizId = new HashMap<>();
+
+        //when
+        assertStatementCountIndependentOfQuizSize(flashcardsIds -> {
+            final Integer quizId = createQuiz("quiz " + flashcardsIds.size(), flashcardsIds);
+            final List<QuizSolveDto> quizSolveDtos = flashcardsIds.stream()
+                    .map(flashcardId -> new QuizSolveDto(flashcardId, flashcardId % 2 == 0 ? " ANSWER " + flashcardId : "wrong"))
+                    .collect(Collectors.toList());
+            final long correct = flashcardsIds.stream().filter(flashcardId -> flashcardId % 2 == 0).count();
+            expectedScoresByQuizId.put(quizId, (int) (correct * 100 / flashcardsIds.size()));
+            return () -> quizService.solveQuiz(quizId, quizSolveDtos, USERNAME);
+        });
+
+        //then
+        entityManager.clear();
+        expectedScoresByQuizId.forEach((quizId, score) -> assertEquals(score, entityManager.find(Quiz.class, quizId).getScore()));
+    }
+
+    @Test
+    @Description("submitAnswer should update running counters with the same number of statements regardless of quiz size")
+    void submitAnswerStatementCountShouldNotDependOnQuizSize() throws Exception {
+        //given
+        final Map<Integer, Integer> quizSizesByQuizId = new HashMap<>();
+
+        //when
+        assertStatementCountIndependentOfQuizSize(flashcardsIds -> {
+            final Integer quizId = createQuiz("quiz " + flashcardsIds.size(), flashcardsIds);
+            final Integer flashcardId = flashcardsIds.iterator().next();
+            quizService.submitAnswer(quizId, new QuizSolveDto(flashcardId, "wrong"), USERNAME);
+            quizSizesByQuizId.put(quizId, flashcardsIds.size());
+            return () -> quizService.submitAnswer(quizId, new QuizSolveDto(flashcardId, "Answer " + flashcardId), USERNAME);
+        });
+
+        //then
+        entityManager.clear();
+        quizSizesByQuizId.forEach((quizId, quizSize) -> {
+            final Quiz quiz = entityManager.find(Quiz.class, quizId);
+            assertEquals(1, quiz.getAnsweredCount());
+            assertEquals(1, quiz.getCorrectCount());
+            assertEquals(100 / quizSize, quiz.getScore());
+        });
+    }
+
+    @Test
+    @Description("Quiz reads should not depend on quiz size and take two statements once the flashcard texts are cached")
+    void quizReadsShouldNotDependOnQuizSize() throws Exception {
+        //given
+        final Integer quizId = createQuiz("quiz", seedFlashcards(200));
+        entityManager.flush();
+        entityManager.clear();
+        final List<QuizDetailsDto> quizDetails = new ArrayList<>();
+        final List<QuizResultDto> quizResults = new ArrayList<>();
+
+        //when
+        final long detailsStatements = StatementCounter.count(() -> quizDetails.add(quizService.getQuizDetails(quizId, USERNAME)));
+        entityManager.clear();
+        final long resultsStatements = StatementCounter.count(() -> quizResults.add(quizService.getResults(quizId, USERNAME)));
+
+        //then
+        assertEquals(200, quizDetails.get(0).getFlashcards().size());
+        assertEquals(200, quizResults.get(0).getFlashcards().size());
+        assertEquals(3, detailsStatements);
+        assertEquals(2, resultsStatements);
+    }
+
+    @Test
+    @Description("Cached flashcard texts should not be served once another instance changed them")
+    void textsChangedByAnotherInstanceShouldNotBeServedFromCache() {
+        //given
+        final Integer flashcardId = seedFlashcards(1).iterator().next();
+        final Integer quizId = createQuiz("quiz", Set.of(flashcardId));
+        assertEquals("answer " + flashcardId, correctAnswer(quizService.getResults(quizId, USERNAME)));
+
+        //when
+        // What an edit through another instance leaves behind: new texts and versions, but this instance's cache untouched.
+        jdbcTemplate.update("UPDATE answer SET value = 'edited' WHERE id = (SELECT answer FROM flashcard WHERE id = ?)",
+                flashcardId);
+        quizRepository.incrementDataVersionByFlashcardId(flashcardId);
+        entityManager.clear();
+
+        //then
+        assertEquals("edited", correctAnswer(quizService.getResults(quizId, USERNAME)));
+    }
+
+    @Test
+    @Description("Quizzes of another user should not be found")
+    void otherUsersShouldNotReachQuiz() {
+        //given
+        final Set<Integer> flashcardsIds = seedFlashcards(3);
+        final Integer flashcardId = flashcardsIds.iterator().next();
+        final Integer quizId = createQuiz("quiz", flashcardsIds);
+        final String otherUsername = "other";
+
+        //then
+        assertThrows(NotFoundException.class, () -> quizService.getQuizDetails(quizId, otherUsername));
+        assertThrows(NotFoundException.class, () -> quizService.getResults(quizId, otherUsername));
+        assertThrows(NotFoundException.class, () -> quizService.submitAnswer(quizId, QuizSolveDto.builder()
+                .flashcardId(flashcardId).userAnswer("answer").build(), otherUsername));
+        assertThrows(NotFoundException.class, () -> quizService.resetAnswers(quizId, otherUsername));
+        assertThrows(NotFoundException.class, () -> quizService.deleteQuizById(quizId, otherUsername));
+        assertEquals(3, quizService.getQuizDetails(quizId, USERNAME).getFlashcards().size());
+    }
+
+    private String correctAnswer(final QuizResultDto results) {
+        return results.getFlashcards().iterator().next().getCorrectAnswer();
+    }
+
+    // Seeds flashcards for every quiz size, lets the test prepare the call on them and counts the statements of that
+    // call alone, expecting the same count for each size.
+    private void assertStatementCountIndependentOfQuizSize(final Function<Set<Integer>, StatementCounter.Action> prepare)
+            throws Exception {
+        final Map<Integer, Long> statementsByQuizSize = new LinkedHashMap<>();
+        for (final int quizSize : QUIZ_SIZES) {
+            final StatementCounter.Action call = prepare.apply(seedFlashcards(quizSize));
+            entityManager.clear();
+            statementsByQuizSize.put(quizSize, StatementCounter.count(() -> {
+                call.run();
+                entityManager.flush();
+            }));
+        }
+        assertEquals(1, new HashSet<>(statementsByQuizSize.values()).size(), statementsByQuizSize.toString());
+    }
+}
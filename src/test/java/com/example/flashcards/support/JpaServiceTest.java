@@ -0,0 +1,116 @@
+package com.example.flashcards.support;
+
+import com.example.flashcards.dto.quiz.QuizCreateDto;
+import com.example.flashcards.model.*;
+import com.example.flashcards.service.*;
+import com.example.flashcards.validation.FlashcardValidator;
+import com.example.flashcards.validation.QuizValidator;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.cache.CacheType;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.core.AutoConfigureCache;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * JPA slice with the flashcard and quiz services, shared by the service tests so they run in one context.
+ * Every test starts with a user owning no flashcards and a single language.
+ */
+@DataJpaTest
+@AutoConfigureCache(cacheProvider = CacheType.JCACHE)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({QuizService.class, QuizValidator.class, AnswerMatcher.class, SpacedRepetitionScheduler.class,
+        FlashcardService.class, FlashcardValidator.class, QuestionHasher.class, QuestionSortKeys.class,
+        FlashcardSearchIndex.class, LanguageCatalog.class, DataVersionService.class, QuizFlashcardsCache.class,
+        FlashcardExportService.class, FlashcardImportService.class, QueryCountingConfiguration.class})
+public abstract class JpaServiceTest {
+
+    protected static final String USERNAME = "username";
+
+    @Autowired
+    protected TestEntityManager entityManager;
+
+    @Autowired
+    protected QuizService quizService;
+
+    @Autowired
+    private QuestionSortKeys questionSortKeys;
+
+    @Autowired
+    private LanguageCatalog languageCatalog;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    protected Language language;
+
+    @BeforeEach
+    void setUpUserAndLanguage() {
+        inTransaction(() -> {
+            entityManager.persist(User.builder()
+                    .username(USERNAME)
+                    .email("test@example.com")
+                    .password("password")
+                    .role("user")
+                    .build());
+            language = entityManager.persist(Language.builder()
+                    .langCode("POL")
+                    .name("Polish")
+                    .build());
+        });
+        languageCatalog.reload();
+    }
+
+    // Joins the test's transaction; in tests running without one, commits right away.
+    protected void inTransaction(final Runnable action) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> action.run());
+    }
+
+    // Flashcards answered with "answer <id>", so tests can derive the correct answer from the id.
+    protected Set<Integer> seedFlashcards(final int count) {
+        final Set<Integer> ids = new HashSet<>();
+        inTransaction(() -> seedFlashcards(count, ids));
+        return ids;
+    }
+
+    private void seedFlashcards(final int count, final Set<Integer> ids) {
+        for (int i = 0; i < count; i++) {
+            final Flashcard flashcard = entityManager.persist(Flashcard.builder()
+                    .usageCount(0)
+                    .creationDate(new Date())
+                    .question(Question.builder().language(language).value("question " + UUID.randomUUID()).build())
+                    .answer(Answer.builder().language(language).value("answer").build())
+                    .username(USERNAME)
+                    .questionLangCode(language.getLangCode())
+                    .answerLangCode(language.getLangCode())
+                    .build());
+            flashcard.setQuestionSortKey(questionSortKeys.sortKey(flashcard.getQuestion().getValue()));
+            flashcard.getAnswer().setValue("answer " + flashcard.getId());
+            flashcard.getAnswer().setNormalizedValue("answer " + flashcard.getId());
+            ids.add(flashcard.getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    protected Integer createQuiz(final String name, final Set<Integer> flashcardsIds) {
+        return quizService.createQuiz(QuizCreateDto.builder()
+                .name(name)
+                .flashcardsId(flashcardsIds)
+                .build(), USERNAME).getId();
+    }
+}
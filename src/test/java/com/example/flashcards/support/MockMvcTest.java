@@ -0,0 +1,139 @@
+package com.example.flashcards.support;
+
+import com.example.flashcards.configuration.JwtTokenUtil;
+import com.example.flashcards.dto.flashcard.NewFlashcardDto;
+import com.example.flashcards.dto.quiz.QuizCreateDto;
+import com.example.flashcards.model.Language;
+import com.example.flashcards.model.User;
+import com.example.flashcards.repository.FlashcardRepository;
+import com.example.flashcards.service.JwtUserDetailsService;
+import com.example.flashcards.service.LanguageCatalog;
+import com.example.flashcards.service.QuizService;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Full application behind MockMvc, shared by the endpoint tests so they run in one context.
+ * Every test starts with a user holding a valid token, owning no flashcards, and a single language.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(QueryCountingConfiguration.class)
+@Transactional
+public abstract class MockMvcTest {
+
+    protected static final String USERNAME = "username";
+    protected static final String PASSWORD = "password";
+
+    @Autowired
+    protected MockMvc mockMvc;
+
+    @Autowired
+    protected EntityManager entityManager;
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    protected QuizService quizService;
+
+    @Autowired
+    protected JwtUserDetailsService jwtUserDetailsService;
+
+    @Autowired
+    private FlashcardRepository flashcardRepository;
+
+    @Autowired
+    private JwtTokenUtil jwtTokenUtil;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private LanguageCatalog languageCatalog;
+
+    protected Language language;
+    private String token;
+
+    @BeforeEach
+    void setUpUserAndLanguage() {
+        entityManager.persist(User.builder()
+                .username(USERNAME)
+                .email("test@example.com")
+                .password(passwordEncoder.encode(PASSWORD))
+                .role("user")
+                .build());
+        language = Language.builder().langCode("POL").name("Polish").build();
+        entityManager.persist(language);
+        entityManager.flush();
+        languageCatalog.reload();
+        token = jwtTokenUtil.generateToken(jwtUserDetailsService.loadUserByUsername(USERNAME));
+    }
+
+    // Flashcards "question <i>" answered with "answer <i>", ids returned in insertion order.
+    protected List<Integer> seedFlashcards(final int count) {
+        final List<NewFlashcardDto> flashcards = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            flashcards.add(NewFlashcardDto.builder()
+                    .question("question " + i)
+                    .questionHash(i)
+                    .questionSortKey("question " + i)
+                    .questionLanguageId(language.getId())
+                    .questionLangCode(language.getLangCode())
+                    .answer("answer " + i)
+                    .normalizedAnswer("answer " + i)
+                    .answerLanguageId(language.getId())
+                    .answerLangCode(language.getLangCode())
+                    .build());
+        }
+        flashcardRepository.insertAll(USERNAME, flashcards);
+        return jdbcTemplate.queryForList("SELECT id FROM flashcard WHERE users = ? ORDER BY id", Integer.class, USERNAME);
+    }
+
+    protected Integer createQuiz(final List<Integer> flashcardsIds) {
+        return quizService.createQuiz(QuizCreateDto.builder()
+                .name("quiz")
+                .flashcardsId(new HashSet<>(flashcardsIds))
+                .build(), USERNAME).getId();
+    }
+
+    protected RequestBuilder authenticated(final RequestBuilder request) {
+        return servletContext -> {
+            final var mockRequest = request.buildRequest(servletContext);
+            mockRequest.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+            return mockRequest;
+        };
+    }
+
+    // A full response, so also checks that requests with a stale If-None-Match are answered with the data.
+    protected String eTag(final RequestBuilder request) throws Exception {
+        return mockMvc.perform(authenticated(request))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    protected String flashcardJson(final String question) {
+        return "{\"question\":{\"value\":\"" + question + "\",\"langCode\":\"POL\"},"
+                + "\"answer\":{\"value\":\"answer\",\"langCode\":\"POL\"}}";
+    }
+}
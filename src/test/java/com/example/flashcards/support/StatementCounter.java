@@ -0,0 +1,20 @@
+package com.example.flashcards.support;
+
+import net.ttddyy.dsproxy.QueryCountHolder;
+
+public final class StatementCounter {
+
+    private StatementCounter() {
+    }
+
+    public static long count(final Action action) throws Exception {
+        QueryCountHolder.clear();
+        action.run();
+        return QueryCountHolder.getGrandTotal().getTotal();
+    }
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.flashcards.validation;
+
+import com.example.flashcards.dto.UserDto;
+import com.example.flashcards.dto.UserPasswordDto;
+import com.example.flashcards.exception.InvalidArgumentException;
+import jdk.jfr.Description;
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.FieldError;
+
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserValidatorTest {
+
+    private final UserValidator userValidator = new UserValidator();
+
+    @Test
+    @Description("Username check should accept exactly what the username pattern accepts")
+    void usernameCheckShouldFollowPattern() {
+        //given
+        final Pattern pattern = Pattern.compile("^[a-zA-Z0-9]+([_ -]?[a-zA-Z0-9])*$");
+        final List<String> usernames = List.of("abc", "user_name", "user name", "user-name-2", "_user", "user_",
+                "us__er", "us_-er", "us er ", "usér", "a_b", "123", "user.name", "-ab", "a b c d");
+
+        //then
+        for (final String username : usernames) {
+            final UserDto userDto = new UserDto(username, "user@example.com", "Fl4sh#Cards!", "Fl4sh#Cards!");
+            final List<String> expectedErrors = pattern.matcher(username).matches() ? List.of() : List.of("Invalid username");
+            assertEquals(expectedErrors, errorsOf(() -> userValidator.validateUserCreateParameters(userDto)), username);
+        }
+    }
+
+    @Test
+    @Description("Change password errors should keep their order")
+    void changePasswordErrorsShouldKeepOrder() {
+        //given
+        final UserPasswordDto userPasswordDto = UserPasswordDto.builder()
+                .password("short")
+                .repeatPassword("other")
+                .oldPassword("short")
+                .build();
+
+        //when
+        final List<String> errors = errorsOf(() -> userValidator.validateChangePasswordParameters(userPasswordDto, false));
+
+        //then
+        assertEquals(List.of("Passwords must be equals", "Invalid password", "Wrong password", "Passwords cannot be equals"),
+                errors);
+        assertTrue(errorsOf(() -> userValidator.validateChangePasswordParameters(UserPasswordDto.builder()
+                .password("Fl4sh#Cards!")
+                .repeatPassword("Fl4sh#Cards!")
+                .oldPassword("Old#Passw0rd")
+                .build(), true)).isEmpty());
+    }
+
+    private List<String> errorsOf(final Runnable validation) {
+        try {
+            validation.run();
+            return List.of();
+        } catch (final InvalidArgumentException e) {
+            return e.getFieldErrors().stream().map(FieldError::getDefaultMessage).collect(Collectors.toList());
+        }
+    }
+}